@@ -0,0 +1,88 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A logback appender that keeps the most recent log events in memory instead of writing them anywhere.
+ * <p>
+ * When the buffer is full, the oldest events are dropped. {@link #writeTo} writes the buffered events with the
+ * configured encoder, and {@link #clear} empties the buffer.
+ * <p>
+ * MTE installs this in place of the console when the {@code mte.logCapture} system property is set,
+ * see {@link MTEExtension#setupLogging()}.
+ */
+public class BufferingAppender extends AppenderBase<ILoggingEvent> {
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final Deque<ILoggingEvent> events = new ArrayDeque<>();
+    private int capacity = DEFAULT_CAPACITY;
+    private long dropped;
+    private Encoder<ILoggingEvent> encoder;
+
+    /** The most events to keep (default {@value #DEFAULT_CAPACITY}). */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("No encoder set for the appender named \"" + name + "\".");
+            return;
+        }
+        if (capacity < 1) {
+            addError("The capacity of the appender named \"" + name + "\" must be positive.");
+            return;
+        }
+        super.start();
+    }
+
+    // AppenderBase.doAppend holds this object's lock while calling append.
+    @Override
+    protected void append(ILoggingEvent event) {
+        // The event may be formatted long after the call that logged it returned.
+        event.prepareForDeferredProcessing();
+        if (events.size() >= capacity) {
+            events.removeFirst();
+            dropped += 1;
+        }
+        events.addLast(event);
+    }
+
+    /** The number of events in the buffer. */
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /** Removes all events from the buffer. */
+    public synchronized void clear() {
+        events.clear();
+        dropped = 0;
+    }
+
+    /** Writes all buffered events, oldest first. */
+    public synchronized void writeTo(OutputStream out) throws IOException {
+        if (dropped > 0) {
+            out.write(String.format("[%d earlier log events were dropped]%n", dropped).getBytes(StandardCharsets.UTF_8));
+        }
+        for (ILoggingEvent event : events) {
+            out.write(encoder.encode(event));
+        }
+        out.flush();
+    }
+}
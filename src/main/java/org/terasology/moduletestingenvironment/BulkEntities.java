@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.base.Preconditions;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnAddedComponent;
+import org.terasology.engine.entitySystem.event.internal.EventSystem;
+import org.terasology.engine.entitySystem.metadata.ComponentLibrary;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Creates many entities at once, for tests that need a large population.
+ * <p>
+ * All entities of a batch are created first, and then sent their {@link OnAddedComponent} and
+ * {@link OnActivatedComponent} events in the order they were created. So unlike with a loop over
+ * {@link EntityManager#create}, systems reacting to those events can already see the whole batch.
+ * <pre><code>
+ * List&lt;EntityRef&gt; crowd = BulkEntities.create(entityManager, 10_000, new LocationComponent(), new DummyComponent());
+ * </code></pre>
+ */
+public final class BulkEntities {
+    private BulkEntities() { };
+
+    /**
+     * Creates entities that each have a copy of the template's components.
+     * <p>
+     * The copies are made with the entity manager's {@link ComponentLibrary}, the same way a prefab's components are
+     * copied.
+     *
+     * @param count how many entities to create
+     * @param template the components to copy onto every entity; they are not added to any entity themselves
+     * @return the new entities, in order of creation
+     */
+    public static List<EntityRef> create(EntityManager entityManager, int count, Component<?>... template) {
+        ComponentLibrary componentLibrary = entityManager.getComponentLibrary();
+        List<Component> components = Arrays.asList(template);
+        return create(entityManager, count, manager -> manager.createEntityWithoutLifecycleEvents(copy(componentLibrary, components)),
+                manager -> manager.create(copy(componentLibrary, components)));
+    }
+
+    /**
+     * Creates entities from a prefab.
+     *
+     * @param count how many entities to create
+     * @return the new entities, in order of creation
+     */
+    public static List<EntityRef> create(EntityManager entityManager, int count, Prefab prefab) {
+        return create(entityManager, count, manager -> manager.createEntityWithoutLifecycleEvents(prefab),
+                manager -> manager.create(prefab));
+    }
+
+    private static List<EntityRef> create(EntityManager entityManager, int count,
+                                          Function<EngineEntityManager, EntityRef> createWithoutEvents,
+                                          Function<EntityManager, EntityRef> createWithEvents) {
+        Preconditions.checkArgument(count >= 0, "count must not be negative");
+        List<EntityRef> entities = new ArrayList<>(count);
+        if (!(entityManager instanceof EngineEntityManager)) {
+            for (int i = 0; i < count; i++) {
+                entities.add(createWithEvents.apply(entityManager));
+            }
+            return entities;
+        }
+
+        EngineEntityManager engineEntityManager = (EngineEntityManager) entityManager;
+        for (int i = 0; i < count; i++) {
+            entities.add(createWithoutEvents.apply(engineEntityManager));
+        }
+        EventSystem eventSystem = engineEntityManager.getEventSystem();
+        if (eventSystem != null) {
+            for (EntityRef entity : entities) {
+                eventSystem.send(entity, OnAddedComponent.newInstance());
+                eventSystem.send(entity, OnActivatedComponent.newInstance());
+            }
+        }
+        return entities;
+    }
+
+    private static List<Component> copy(ComponentLibrary componentLibrary, List<Component> components) {
+        List<Component> copies = new ArrayList<>(components.size());
+        for (Component component : components) {
+            copies.add(componentLibrary.copy(component));
+        }
+        return copies;
+    }
+}
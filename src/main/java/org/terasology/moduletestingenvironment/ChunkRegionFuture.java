@@ -20,9 +20,12 @@ import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.ChunkRegionListener;
 import org.terasology.engine.world.chunks.localChunkProvider.RelevanceSystem;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -43,9 +46,14 @@ public class ChunkRegionFuture {
     protected final BlockRegion chunks = new BlockRegion(BlockRegion.INVALID);
 
     private final EntityRef entity;
+    private final long requestedNanos;
+    private long firstChunkNanos;
+    private long lastChunkNanos;
+    private boolean complete;
 
     private ChunkRegionFuture(EntityRef entity, Function<ChunkRegionListener, BlockRegionc> chunks) {
         this.entity = entity;
+        this.requestedNanos = System.nanoTime();
         this.chunks.set(chunks.apply(new Listener(this::onChunkRelevant)));
     }
 
@@ -131,11 +139,46 @@ public class ChunkRegionFuture {
         return chunks;
     }
 
+    /**
+     * Time from requesting the region until its first chunk was loaded.
+     *
+     * @return empty if no chunk has been loaded yet
+     */
+    public Optional<Duration> getTimeToFirstChunk() {
+        return loadedChunks.isEmpty() ? Optional.empty() : Optional.of(Duration.ofNanos(firstChunkNanos - requestedNanos));
+    }
+
+    /**
+     * Time from requesting the region until all of its chunks were loaded.
+     *
+     * @return empty if the region is not completely loaded yet
+     */
+    public Optional<Duration> getTimeToLastChunk() {
+        return complete ? Optional.of(Duration.ofNanos(lastChunkNanos - requestedNanos)) : Optional.empty();
+    }
+
+    /**
+     * How many chunks per second were loaded, from requesting the region until the last chunk loaded, or until now
+     * if it is still loading.
+     */
+    public double getChunksPerSecond() {
+        long end = complete ? lastChunkNanos : System.nanoTime();
+        double seconds = (end - requestedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return seconds > 0 ? loadedChunks.size() / seconds : 0;
+    }
+
     protected void onChunkRelevant(Chunk chunk) {
+        if (loadedChunks.isEmpty()) {
+            firstChunkNanos = System.nanoTime();
+        }
         loadedChunks.add(chunk);
         if (chunks.isValid()) {
             logger.debug("Got chunk {} / {}", loadedChunks.size(), chunks.volume());
             if (loadedChunks.size() >= chunks.volume() && !future.isDone()) {
+                lastChunkNanos = System.nanoTime();
+                complete = true;
+                logger.debug("Loaded {} chunks in {} ms ({} chunks/s)", loadedChunks.size(),
+                        TimeUnit.NANOSECONDS.toMillis(lastChunkNanos - requestedNanos), String.format("%.1f", getChunksPerSecond()));
                 future.set(this);
             }
         }
@@ -0,0 +1,62 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals of all the {@link ChunkRegionFuture regions} loaded through one {@link Engines} instance.
+ * <p>
+ * This tells how much of a test run was spent waiting for world generation, and allows comparing world generators.
+ *
+ * @see Engines#getChunkRegionStatistics()
+ */
+public class ChunkRegionStatistics {
+    private int regions;
+    private long chunks;
+    private long totalNanos;
+    private long slowestNanos;
+
+    synchronized void add(ChunkRegionFuture region) {
+        region.getTimeToLastChunk().ifPresent(duration -> {
+            regions += 1;
+            chunks += region.getLoadedChunks().size();
+            totalNanos += duration.toNanos();
+            slowestNanos = Math.max(slowestNanos, duration.toNanos());
+        });
+    }
+
+    /** Number of regions that finished loading. */
+    public synchronized int getRegions() {
+        return regions;
+    }
+
+    /** Number of chunks in the regions that finished loading. */
+    public synchronized long getChunks() {
+        return chunks;
+    }
+
+    /** Sum of the time it took each region to load, from request to last chunk. */
+    public synchronized Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /** The longest it took any region to load. */
+    public synchronized Duration getSlowestRegion() {
+        return Duration.ofNanos(slowestNanos);
+    }
+
+    /** Chunks loaded per second while waiting for regions. */
+    public synchronized double getChunksPerSecond() {
+        return totalNanos > 0 ? chunks / (totalNanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d regions with %d chunks in %d ms (%.1f chunks/s, slowest region %d ms)",
+                regions, chunks, TimeUnit.NANOSECONDS.toMillis(totalNanos), getChunksPerSecond(),
+                TimeUnit.NANOSECONDS.toMillis(slowestNanos));
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * Starts and stops a host once, so the JVM can record which classes MTE needs for a class data sharing archive.
+ * <p>
+ * Test JVMs spend a good part of their startup loading and verifying the same engine, gestalt and module classes.
+ * An AppCDS archive of those classes lets later JVMs map them in ready to use. The archive has to be made by a JVM
+ * started with the right options, so this class is meant to be run by the build before the tests, with the test
+ * runtime class path and the names of the modules to load as arguments:
+ * <pre><code>
+ * java -XX:ArchiveClassesAtExit=build/mte.jsa -cp &lt;test runtime jars&gt; \
+ *     org.terasology.moduletestingenvironment.ClassDataSharingRun MyModule
+ * </code></pre>
+ * Only classes loaded from jar files are archived, so the class path should not contain class directories; some JDKs
+ * refuse to create the archive at all if it does.
+ * Test JVMs started with {@code -XX:SharedArchiveFile=build/mte.jsa} then use the archive. See the README for how to
+ * set this up in Gradle, and for Java 11, which needs a separate class list step instead of
+ * {@code -XX:ArchiveClassesAtExit}.
+ */
+public final class ClassDataSharingRun {
+    private static final Logger logger = LoggerFactory.getLogger(ClassDataSharingRun.class);
+
+    private ClassDataSharingRun() { };
+
+    /**
+     * @param args the modules to load, as for {@link org.terasology.moduletestingenvironment.extension.Dependencies}
+     */
+    public static void main(String[] args) {
+        Engines engines = new Engines(new HashSet<>(Arrays.asList(args)), null);
+        engines.setup();
+        try {
+            // Load and tick a little of the world too, so the classes of world generation and the main loop are included.
+            MainLoop mainLoop = engines.getMainLoop();
+            mainLoop.runUntil(mainLoop.makeBlocksRelevant(new BlockRegion(0, 0, 0)));
+            mainLoop.runWhile(1000, () -> true);
+        } finally {
+            engines.tearDown();
+        }
+        logger.info("Class data sharing run finished.");
+        // Engine threads may still be winding down; the JVM writes the archive on exit, after Engines' shutdown hook
+        // has deleted the home paths.
+        System.exit(0);
+    }
+}
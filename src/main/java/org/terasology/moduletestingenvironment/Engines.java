@@ -3,8 +3,16 @@
 
 package org.terasology.moduletestingenvironment;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,12 +40,17 @@ import org.terasology.engine.core.subsystem.lwjgl.LwjglAudio;
 import org.terasology.engine.core.subsystem.lwjgl.LwjglGraphics;
 import org.terasology.engine.core.subsystem.lwjgl.LwjglInput;
 import org.terasology.engine.core.subsystem.lwjgl.LwjglTimer;
+import org.terasology.engine.game.GameManifest;
 import org.terasology.engine.network.JoinStatus;
+import org.terasology.engine.network.NetworkMode;
 import org.terasology.engine.network.NetworkSystem;
+import org.terasology.engine.persistence.StorageManager;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.rendering.opengl.ScreenGrabber;
 import org.terasology.engine.rendering.world.viewDistance.ViewDistance;
 import org.terasology.engine.testUtil.WithUnittestModule;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.engine.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 import org.terasology.gestalt.module.Module;
 import org.terasology.gestalt.module.ModuleMetadataJsonAdapter;
 import org.terasology.gestalt.module.ModuleRegistry;
@@ -46,9 +59,19 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * Manages game engines for tests.
@@ -67,17 +90,64 @@ import java.util.Set;
  * host. Currently all engine instances are headless, though it is possible to use headed engines in the future.
  */
 public class Engines {
+    /**
+     * System property naming the directory in which the engines' temporary home paths are created.
+     * <p>
+     * Defaults to the system's temporary directory. Pointing it to a memory-backed file system, such as
+     * {@code /dev/shm} on Linux, keeps the engines' config and other home path files off the disk.
+     */
+    public static final String HOME_PATH_ROOT_PROPERTY = "mte.homePathRoot";
+
+    static final String HOST_ADDRESS = "localhost";
+    static final int HOST_PORT = 25777;
+
     private static final Logger logger = LoggerFactory.getLogger(Engines.class);
 
+    /** Deletes the home paths of torn down engines, so the next test doesn't have to wait for it. */
+    private static final ExecutorService HOME_PATH_CLEANER = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("mte-home-path-cleaner").setDaemon(true).build());
+    /** How long the JVM may wait on exit for the home paths of the last tests to be deleted. */
+    private static final Duration HOME_PATH_DELETION_ON_EXIT_TIMEOUT = Duration.ofSeconds(30);
+
+    static {
+        // The cleaner is a daemon thread, and test workers end with System.exit, which would cut the deletion short.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                if (!awaitHomePathDeletion(HOME_PATH_DELETION_ON_EXIT_TIMEOUT)) {
+                    logger.warn("Temporary engine home paths were not deleted within {}", HOME_PATH_DELETION_ON_EXIT_TIMEOUT);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "mte-home-path-cleaner-exit"));
+    }
+
     protected final Set<String> dependencies = Sets.newHashSet("engine");
     protected String worldGeneratorUri = ModuleTestingEnvironment.DEFAULT_WORLD_GENERATOR;
+    protected boolean persistenceEnabled;
     protected boolean doneLoading;
     protected Context hostContext;
     protected final List<TerasologyEngine> engines = Lists.newArrayList();
+    protected final List<Path> homePaths = Lists.newArrayList();
+    protected final Map<TerasologyEngine, Integer> tickIntervals = Maps.newHashMap();
+    protected final Map<TerasologyEngine, SimulatedLink> simulatedLinks = Maps.newHashMap();
+    protected final Set<TerasologyEngine> thinClients = Sets.newHashSet();
+    protected ChunkRegionStatistics chunkRegionStatistics = new ChunkRegionStatistics();
 
     PathManager pathManager;
     PathManagerProvider.Cleaner pathManagerCleaner;
     TerasologyEngine host;
+    Path hostHomePath;
+    /** Set while the current test records each run; see {@link org.terasology.moduletestingenvironment.extension.RecordJfr}. */
+    FlightRecordings.PerRun runRecorder;
+    /** Set while the current test has a {@link org.terasology.moduletestingenvironment.extension.TickBudget}. */
+    TickTimes hostTickTimes;
+    /** Only set while the host is starting. */
+    StartupPhaseTimer startupTimer;
+    Map<String, Duration> startupPhaseTimes = Collections.emptyMap();
+
+    private MainLoop sharedMainLoop;
+    private ModuleTestingHelper sharedModuleTestingHelper;
 
     public Engines(Set<String> dependencies, String worldGeneratorUri) {
         this.dependencies.addAll(dependencies);
@@ -93,48 +163,249 @@ public class Engines {
      * Every instance should be shut down properly by calling {@link #tearDown()}.
      */
     protected void setup() {
+        startupTimer = new StartupPhaseTimer();
+        startupTimer.begin("mock path manager");
         mockPathManager();
         try {
             host = createHost();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
+        } finally {
+            startupTimer.end();
+            startupPhaseTimes = startupTimer.getPhases();
+            logger.info("Host startup phases:{}", startupTimer.format());
+            startupTimer = null;
         }
         ScreenGrabber grabber = Mockito.mock(ScreenGrabber.class);
         hostContext.put(ScreenGrabber.class, grabber);
         CoreRegistry.put(GameEngine.class, host);
     }
 
+    /**
+     * Saves the game, shuts down the host and starts a new host from the save.
+     * <p>
+     * Persistence must have been enabled before setup, see {@link #setPersistenceEnabled}, and there must be no
+     * clients. When this returns, the new host is in the {@link StateIngame} state and {@link #getHostContext()}
+     * returns its context. Anything obtained from the old host's context is no longer valid.
+     *
+     * @return how long saving, shutting down and reloading took
+     */
+    public PersistenceTimings saveAndRestartHost() throws IOException {
+        Preconditions.checkState(persistenceEnabled, "Persistence is not enabled; see @EnablePersistence.");
+        Preconditions.checkState(engines.size() == 1, "Cannot restart the host while clients are connected.");
+        StorageManager storageManager = hostContext.get(StorageManager.class);
+        long deadline = System.currentTimeMillis() + ModuleTestingEnvironment.DEFAULT_SAFETY_TIMEOUT;
+
+        long start = System.nanoTime();
+        storageManager.requestSaving();
+        tickHost();
+        long serialized = System.nanoTime();
+        while (storageManager.isSaving()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new UncheckedTimeoutException("Saving did not finish within the safety timeout.");
+            }
+            tickHost();
+        }
+        long saved = System.nanoTime();
+
+        host.shutdown();
+        host.cleanup();
+        engines.remove(host);
+        tickIntervals.remove(host);
+        host = null;
+        hostContext = null;
+        long shutDown = System.nanoTime();
+
+        TerasologyEngine newHost = createHeadlessEngine(hostHomePath);
+        Path manifestPath = PathManager.getInstance().getSavePath(TestingStateHeadlessSetup.WORLD_TITLE)
+                .resolve(GameManifest.DEFAULT_FILE_NAME);
+        GameManifest gameManifest = GameManifest.load(manifestPath);
+        host = startHost(newHost, new StateLoading(gameManifest, NetworkMode.DEDICATED_SERVER));
+        hostContext.put(ScreenGrabber.class, Mockito.mock(ScreenGrabber.class));
+        CoreRegistry.put(GameEngine.class, host);
+        long reloaded = System.nanoTime();
+
+        PersistenceTimings timings = new PersistenceTimings(
+                Duration.ofNanos(serialized - start),
+                Duration.ofNanos(saved - serialized),
+                Duration.ofNanos(shutDown - saved),
+                Duration.ofNanos(reloaded - shutDown));
+        logger.info("Saved and restarted the host: {}", timings);
+        return timings;
+    }
+
+    private void tickHost() {
+        if (!host.tick()) {
+            throw new RuntimeException("Host has shut down: " + host.getStatus());
+        }
+    }
+
     /**
      * Shut down a previously started testing environment.
      * <p>
      * Used to properly shut down and clean up a testing environment set up and started with {@link #setup()}.
+     * <p>
+     * Clients are cleaned up one after another, then the host, since cleaning up an engine touches shared state
+     * such as the {@link CoreRegistry} and the config files. The original {@link PathManager} is restored and the
+     * home paths are deleted in the background even if cleaning up an engine fails.
      */
     protected void tearDown() {
-        engines.forEach(TerasologyEngine::shutdown);
-        engines.forEach(TerasologyEngine::cleanup);
-        engines.clear();
+        if (chunkRegionStatistics.getRegions() > 0) {
+            logger.info("Loaded chunks with {}: {}", worldGeneratorUri, chunkRegionStatistics);
+        }
         try {
-            pathManagerCleaner.close();
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Throwable e) {
-            throw new RuntimeException(e);
+            engines.forEach(TerasologyEngine::shutdown);
+            simulatedLinks.values().forEach(SimulatedLink::close);
+            simulatedLinks.clear();
+            thinClients.clear();
+            for (TerasologyEngine engine : engines) {
+                if (engine != host) {
+                    engine.cleanup();
+                }
+            }
+            if (host != null) {
+                host.cleanup();
+            }
+        } finally {
+            engines.clear();
+            tickIntervals.clear();
+            host = null;
+            hostContext = null;
+            try {
+                pathManagerCleaner.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            } finally {
+                deleteHomePaths();
+            }
+        }
+    }
+
+    private void deleteHomePaths() {
+        List<Path> paths = Lists.newArrayList(homePaths);
+        homePaths.clear();
+        HOME_PATH_CLEANER.execute(() -> paths.forEach(path -> {
+            try {
+                MoreFiles.deleteRecursively(path, RecursiveDeleteOption.ALLOW_INSECURE);
+            } catch (IOException e) {
+                logger.warn("Could not delete temporary engine home path {}", path, e);
+            }
+        }));
+    }
+
+    /**
+     * Waits until the home paths of all engines torn down so far are deleted.
+     * <p>
+     * The deletion runs on a daemon thread, which does not keep the JVM alive. A shutdown hook waits for it when the
+     * JVM exits.
+     *
+     * @return whether the deletion finished within the timeout
+     */
+    static boolean awaitHomePathDeletion(Duration timeout) throws InterruptedException {
+        try {
+            HOME_PATH_CLEANER.submit(() -> { }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unexpected failure of an empty task", e);
+        } catch (TimeoutException e) {
+            return false;
         }
-        host = null;
-        hostContext = null;
     }
 
     /**
      * Creates a new client and connects it to the host.
+     * <p>
+     * Each client loads its own copy of the assets of its module environment. Assets can't be shared with the host:
+     * every engine has its own asset managers, and assets belong to the class loaders of the module environment they
+     * were loaded in, which is rebuilt when the client receives the host's module list.
      *
      * @return the created client's context object
      */
     public Context createClient(MainLoop mainLoop) throws IOException {
+        TerasologyEngine terasologyEngine = createClientEngine();
+        connectToHost(terasologyEngine, mainLoop, HOST_ADDRESS, HOST_PORT);
+        return finishClient(terasologyEngine);
+    }
+
+    /**
+     * Creates a new client that is connected to the host through a {@link SimulatedLink}.
+     * <p>
+     * Use {@link #getSimulatedLink(Context)} to read the link's traffic counters.
+     *
+     * @param conditions the latency, jitter and bandwidth of the connection
+     * @return the created client's context object
+     */
+    public Context createClient(MainLoop mainLoop, NetworkConditions conditions) throws IOException {
+        TerasologyEngine terasologyEngine = createClientEngine();
+        SimulatedLink link = new SimulatedLink(conditions, HOST_PORT);
+        simulatedLinks.put(terasologyEngine, link);
+        connectToHost(terasologyEngine, mainLoop, link.getAddress(), link.getPort());
+        return finishClient(terasologyEngine);
+    }
+
+    /**
+     * Creates a new client that doesn't keep any world data, and connects it to the host.
+     * <p>
+     * A thin client is for tests that only need a client's entities and events, e.g. to check what is replicated to
+     * it, and can't look at blocks. It still receives the chunks near its player from the host, but after each of its
+     * ticks the {@link MainLoop} unloads every chunk it has, the same way the client unloads chunks the host
+     * invalidates. That keeps its memory use low enough to run many more clients in one JVM.
+     *
+     * @return the created client's context object
+     */
+    public Context createThinClient(MainLoop mainLoop) throws IOException {
+        TerasologyEngine terasologyEngine = createClientEngine();
+        thinClients.add(terasologyEngine);
+        connectToHost(terasologyEngine, mainLoop, HOST_ADDRESS, HOST_PORT);
+        discardChunks(terasologyEngine);
+        return finishClient(terasologyEngine);
+    }
+
+    /**
+     * @return whether the engine is a client created with {@link #createThinClient}
+     */
+    public boolean isThinClient(TerasologyEngine engine) {
+        return thinClients.contains(engine);
+    }
+
+    /**
+     * Unloads all chunks the engine has received, if it is a thin client.
+     */
+    void discardChunks(TerasologyEngine engine) {
+        if (!thinClients.contains(engine) || !(engine.getState() instanceof StateIngame)) {
+            return;
+        }
+        ChunkProvider chunkProvider = engine.getState().getContext().get(ChunkProvider.class);
+        if (chunkProvider instanceof RemoteChunkProvider) {
+            RemoteChunkProvider remoteChunkProvider = (RemoteChunkProvider) chunkProvider;
+            List<Vector3ic> positions = chunkProvider.getAllChunks().stream()
+                    .map(chunk -> (Vector3ic) new Vector3i(chunk.getPosition()))
+                    .collect(Collectors.toList());
+            positions.forEach(remoteChunkProvider::invalidateChunks);
+        }
+    }
+
+    /**
+     * The simulated link between this client and the host.
+     *
+     * @param clientContext as returned by {@link #createClient(MainLoop, NetworkConditions)}
+     * @return null if the client was created without simulated network conditions
+     */
+    public SimulatedLink getSimulatedLink(Context clientContext) {
+        return simulatedLinks.get((TerasologyEngine) clientContext.get(GameEngine.class));
+    }
+
+    private TerasologyEngine createClientEngine() throws IOException {
         TerasologyEngine terasologyEngine = createHeadlessEngine();
         terasologyEngine.getFromEngineContext(Config.class).getRendering().setViewDistance(ViewDistance.LEGALLY_BLIND);
 
         terasologyEngine.changeState(new StateMainMenu());
-        connectToHost(terasologyEngine, mainLoop);
+        return terasologyEngine;
+    }
+
+    private Context finishClient(TerasologyEngine terasologyEngine) {
         Context context = terasologyEngine.getState().getContext();
         context.put(ScreenGrabber.class, hostContext.get(ScreenGrabber.class));
         return terasologyEngine.getState().getContext();
@@ -151,6 +422,93 @@ public class Engines {
         return Lists.newArrayList(engines);
     }
 
+    /**
+     * The {@link MainLoop} injected into tests using these engines.
+     * <p>
+     * There is one per instance, so settings like its tick period carry over between the tests that share it.
+     */
+    synchronized MainLoop getMainLoop() {
+        if (sharedMainLoop == null) {
+            sharedMainLoop = new MainLoop(this);
+        }
+        return sharedMainLoop;
+    }
+
+    /** The {@link ModuleTestingHelper} injected into tests using these engines. */
+    synchronized ModuleTestingHelper getModuleTestingHelper() {
+        if (sharedModuleTestingHelper == null) {
+            sharedModuleTestingHelper = new ModuleTestingHelper(this);
+        }
+        return sharedModuleTestingHelper;
+    }
+
+    /**
+     * Makes the {@link MainLoop} tick this engine only once every {@code interval} iterations.
+     * <p>
+     * By default every engine ticks on every iteration of the loop. Clients that are only there to check what gets
+     * replicated to them can tick less often, leaving more of the loop to the host. Game time on such a client still
+     * passes at the same rate; it just advances in bigger steps.
+     *
+     * @param engine the host or one of the clients
+     * @param interval how many iterations of the main loop pass for each tick of the engine
+     */
+    public void setTickInterval(TerasologyEngine engine, int interval) {
+        Preconditions.checkArgument(interval >= 1, "Tick interval must be at least 1, was %s", interval);
+        Preconditions.checkArgument(engines.contains(engine), "%s is not one of these engines", engine);
+        tickIntervals.put(engine, interval);
+    }
+
+    /**
+     * Makes the {@link MainLoop} tick the engine of this context only once every {@code interval} iterations.
+     *
+     * @param context the context returned by {@link #createClient}, or the host context
+     * @see #setTickInterval(TerasologyEngine, int)
+     */
+    public void setTickInterval(Context context, int interval) {
+        setTickInterval((TerasologyEngine) context.get(GameEngine.class), interval);
+    }
+
+    /**
+     * @return how many iterations of the main loop pass for each tick of this engine
+     * @see #setTickInterval(TerasologyEngine, int)
+     */
+    public int getTickInterval(TerasologyEngine engine) {
+        return tickIntervals.getOrDefault(engine, 1);
+    }
+
+    /**
+     * Totals of the regions loaded by {@link MainLoop#makeChunksRelevant} and related methods in this environment.
+     * <p>
+     * These are also logged when the environment is torn down.
+     */
+    public ChunkRegionStatistics getChunkRegionStatistics() {
+        return chunkRegionStatistics;
+    }
+
+    /**
+     * Lets the host write save games, which is needed for {@link #saveAndRestartHost()}.
+     * <p>
+     * This must be called before the environment is set up; see
+     * {@link org.terasology.moduletestingenvironment.extension.EnablePersistence}.
+     */
+    public void setPersistenceEnabled(boolean persistenceEnabled) {
+        Preconditions.checkState(host == null, "Persistence must be configured before the host is started.");
+        this.persistenceEnabled = persistenceEnabled;
+    }
+
+    /**
+     * How long each phase of starting the host took during {@link #setup()}.
+     * <p>
+     * Phases include building and initializing the engine (which discovers the available modules), registering the
+     * install path as a module, resolving modules and setting up the game, and each of the load processes that bring
+     * the host in game, such as loading assets, initializing the world and starting the entity system.
+     *
+     * @return duration of each phase, in the order they happened
+     */
+    public Map<String, Duration> getStartupPhaseTimes() {
+        return startupPhaseTimes;
+    }
+
     /**
      * Get the host context for this module testing environment.
      * <p>
@@ -164,6 +522,10 @@ public class Engines {
     }
 
     TerasologyEngine createHeadlessEngine() throws IOException {
+        return createHeadlessEngine(createHomePath());
+    }
+
+    TerasologyEngine createHeadlessEngine(Path homePath) throws IOException {
         TerasologyEngineBuilder terasologyEngineBuilder = new TerasologyEngineBuilder();
         terasologyEngineBuilder
                 .add(new WithUnittestModule())
@@ -172,7 +534,7 @@ public class Engines {
                 .add(new HeadlessAudio())
                 .add(new HeadlessInput());
 
-        return createEngine(terasologyEngineBuilder);
+        return createEngine(terasologyEngineBuilder, homePath);
     }
 
     @SuppressWarnings("unused")
@@ -189,26 +551,53 @@ public class Engines {
     }
 
     TerasologyEngine createEngine(TerasologyEngineBuilder terasologyEngineBuilder) throws IOException {
+        return createEngine(terasologyEngineBuilder, createHomePath());
+    }
+
+    TerasologyEngine createEngine(TerasologyEngineBuilder terasologyEngineBuilder, Path homePath) throws IOException {
         System.setProperty(ModuleManager.LOAD_CLASSPATH_MODULES_PROPERTY, "true");
 
-        // create temporary home paths so the MTE engines don't overwrite config/save files in your real home path
         // FIXME: Collisions when attempting to do multiple simultaneous createEngines.
         //    (PathManager will need to be set in Context, not a process-wide global.)
-        Path path = Files.createTempDirectory("terasology-mte-engine");
-        PathManager.getInstance().useOverrideHomePath(path);
-        logger.info("Created temporary engine home path: {}", path);
-
-        // JVM will delete these on normal termination but not exceptions.
-        path.toFile().deleteOnExit();
+        PathManager.getInstance().useOverrideHomePath(homePath);
 
+        beginStartupPhase("engine initialization");
         TerasologyEngine terasologyEngine = terasologyEngineBuilder.build();
         terasologyEngine.initialize();
+        beginStartupPhase("register install path as module");
         registerCurrentDirectoryIfModule(terasologyEngine);
 
         engines.add(terasologyEngine);
         return terasologyEngine;
     }
 
+    /**
+     * Creates a temporary home path, so the MTE engines don't overwrite config/save files in your real home path.
+     */
+    private Path createHomePath() throws IOException {
+        String root = System.getProperty(HOME_PATH_ROOT_PROPERTY);
+        Path path;
+        if (root == null || root.isEmpty()) {
+            path = Files.createTempDirectory("terasology-mte-engine");
+        } else {
+            Path rootPath = Paths.get(root);
+            Files.createDirectories(rootPath);
+            path = Files.createTempDirectory(rootPath, "terasology-mte-engine");
+        }
+        logger.info("Created temporary engine home path: {}", path);
+        homePaths.add(path);
+
+        // Deleted by tearDown. As a fallback, the JVM deletes these on normal termination if they are empty.
+        path.toFile().deleteOnExit();
+        return path;
+    }
+
+    private void beginStartupPhase(String phase) {
+        if (startupTimer != null) {
+            startupTimer.begin(phase);
+        }
+    }
+
     /**
      * In standalone module environments (i.e. Jenkins CI builds) the CWD is the module under test. When it uses MTE it very likely needs to
      * load itself as a module, but it won't be loadable from the typical path such as ./modules. This means that modules using MTE would
@@ -217,6 +606,9 @@ public class Engines {
      * For these cases we try to load the CWD (via the installPath) as a module and put it in the global module registry.
      * <p>
      * This process is based on how ModuleManagerImpl uses ModulePathScanner to scan for available modules.
+     * <p>
+     * The install path is only scanned by the first engine in the JVM; the others reuse the module from
+     * {@link ModuleCache}.
      */
     protected void registerCurrentDirectoryIfModule(TerasologyEngine terasologyEngine) {
         Path installPath = PathManager.getInstance().getInstallPath();
@@ -228,9 +620,9 @@ public class Engines {
 
 
         try {
-            Module module = moduleManager.getModuleFactory().createModule(installPath.toFile());
-            if (module != null) {
-                registry.add(module);
+            Optional<Module> module = ModuleCache.getModule(moduleManager, installPath);
+            if (module.isPresent()) {
+                registry.add(module.get());
                 logger.info("Added install path as module: {}", installPath);
             } else {
                 logger.info("Install path does not appear to be a module: {}", installPath);
@@ -249,15 +641,24 @@ public class Engines {
     }
 
     TerasologyEngine createHost() throws IOException {
-        TerasologyEngine terasologyEngine = createHeadlessEngine();
-        terasologyEngine.getFromEngineContext(SystemConfig.class).writeSaveGamesEnabled.set(false);
+        hostHomePath = createHomePath();
+        TerasologyEngine terasologyEngine = createHeadlessEngine(hostHomePath);
+        return startHost(terasologyEngine, new TestingStateHeadlessSetup(dependencies, worldGeneratorUri));
+    }
+
+    /**
+     * Ticks the engine from the given state until it is in game.
+     */
+    TerasologyEngine startHost(TerasologyEngine terasologyEngine, GameState initialState) {
+        terasologyEngine.getFromEngineContext(SystemConfig.class).writeSaveGamesEnabled.set(persistenceEnabled);
         terasologyEngine.subscribeToStateChange(new HeadlessStateChangeListener(terasologyEngine));
-        terasologyEngine.changeState(new TestingStateHeadlessSetup(dependencies, worldGeneratorUri));
+        terasologyEngine.changeState(initialState);
 
         doneLoading = false;
         terasologyEngine.subscribeToStateChange(() -> {
             GameState newState = terasologyEngine.getState();
             logger.debug("New engine state is {}", newState);
+            beginStartupPhase(newState.getClass().getSimpleName());
             if (newState instanceof StateIngame) {
                 hostContext = newState.getContext();
                 if (hostContext == null) {
@@ -271,6 +672,9 @@ public class Engines {
 
         boolean keepTicking;
         while (!doneLoading) {
+            if (terasologyEngine.getState() instanceof StateLoading && startupTimer != null) {
+                startupTimer.beginLoadProcess((StateLoading) terasologyEngine.getState());
+            }
             keepTicking = terasologyEngine.tick();
             if (!keepTicking) {
                 throw new RuntimeException(String.format(
@@ -282,11 +686,11 @@ public class Engines {
         return terasologyEngine;
     }
 
-    void connectToHost(TerasologyEngine client, MainLoop mainLoop) {
+    void connectToHost(TerasologyEngine client, MainLoop mainLoop, String address, int port) {
         CoreRegistry.put(Config.class, client.getFromEngineContext(Config.class));
         JoinStatus joinStatus = null;
         try {
-            joinStatus = client.getFromEngineContext(NetworkSystem.class).join("localhost", 25777);
+            joinStatus = client.getFromEngineContext(NetworkSystem.class).join(address, port);
         } catch (InterruptedException e) {
             logger.warn("Interrupted while joining: ", e);
         }
@@ -0,0 +1,193 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.moduletestingenvironment.extension.RecordJfr;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Java Flight Recorder sessions for tests annotated with {@link RecordJfr}.
+ * <p>
+ * Recordings use the JDK's {@code profile} settings. Each is dumped to a {@code .jfr} file that can be opened in
+ * JDK Mission Control, with a {@code -summary.txt} file next to it listing the top allocation sites and hot methods.
+ */
+final class FlightRecordings {
+    static final String SCOPE_PROPERTY = "mte.jfr";
+    static final String DIRECTORY_PROPERTY = "mte.jfr.dir";
+    static final Path DEFAULT_DIRECTORY = Paths.get("build", "test-results", "jfr");
+    static final int SUMMARY_SIZE = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordings.class);
+
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private FlightRecordings() { };
+
+    /**
+     * The recording scope requested for this test, if any.
+     * <p>
+     * An annotation on the test method wins over one on the test class, which wins over the system property.
+     */
+    static Optional<RecordJfr.Scope> getScope(ExtensionContext context) {
+        Optional<RecordJfr> annotation = context.getTestMethod()
+                .map(method -> method.getAnnotation(RecordJfr.class));
+        if (!annotation.isPresent()) {
+            annotation = Optional.ofNullable(Scopes.getTopTestClass(context).getAnnotation(RecordJfr.class));
+        }
+        if (annotation.isPresent()) {
+            return Optional.of(annotation.get().value());
+        }
+        String property = System.getProperty(SCOPE_PROPERTY);
+        if (property == null || property.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(RecordJfr.Scope.valueOf(property.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unknown value '%s' for the %s system property; use one of %s",
+                    property, SCOPE_PROPERTY, Arrays.toString(RecordJfr.Scope.values())), e);
+        }
+    }
+
+    /** A file name for recordings of this test. */
+    static String getRecordingName(ExtensionContext context) {
+        return Scopes.getTestName(context).replaceAll("[^\\w.-]", "_");
+    }
+
+    static Recording start(String name) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("profile");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new RuntimeException("Could not read JFR profile configuration", e);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Stop the recording and write it, along with its summary, to the recording directory.
+     *
+     * @return the path of the written recording
+     */
+    static Path stop(Recording recording) {
+        recording.stop();
+        try {
+            Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY.toString()));
+            Files.createDirectories(directory);
+            Path jfrFile = directory.resolve(recording.getName() + ".jfr");
+            recording.dump(jfrFile);
+            writeSummary(jfrFile, directory.resolve(recording.getName() + "-summary.txt"));
+            logger.info("Wrote flight recording {}", jfrFile.toAbsolutePath());
+            return jfrFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    static void writeSummary(Path jfrFile, Path summaryFile) throws IOException {
+        Map<String, Long> allocatedBytes = new HashMap<>();
+        Map<String, Long> executionSamples = new HashMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(jfrFile)) {
+            String eventType = event.getEventType().getName();
+            switch (eventType) {
+                case ALLOCATION_SAMPLE:
+                    allocatedBytes.merge(topFrame(event), event.getLong("weight"), Long::sum);
+                    break;
+                case ALLOCATION_IN_NEW_TLAB:
+                case ALLOCATION_OUTSIDE_TLAB:
+                    allocatedBytes.merge(topFrame(event), event.getLong("allocationSize"), Long::sum);
+                    break;
+                case EXECUTION_SAMPLE:
+                    executionSamples.merge(topFrame(event), 1L, Long::sum);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(summaryFile))) {
+            out.printf("Flight recording: %s%n%n", jfrFile.getFileName());
+            out.printf("Top allocation sites (bytes):%n");
+            printTop(out, allocatedBytes);
+            out.printf("%nHot methods (execution samples):%n");
+            printTop(out, executionSamples);
+        }
+    }
+
+    private static void printTop(PrintWriter out, Map<String, Long> counts) {
+        if (counts.isEmpty()) {
+            out.printf("  (none recorded)%n");
+            return;
+        }
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(SUMMARY_SIZE)
+                .forEach(entry -> out.printf("  %,14d  %s%n", entry.getValue(), entry.getKey()));
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (frames.isEmpty()) {
+            return "<no stack trace>";
+        }
+        RecordedFrame frame = frames.get(0);
+        return String.format("%s.%s:%d",
+                frame.getMethod().getType().getName(), frame.getMethod().getName(), frame.getLineNumber());
+    }
+
+    /**
+     * Records each {@link MainLoop#runWhile run} of a test in its own numbered file.
+     */
+    static class PerRun {
+        private final String name;
+        private int count;
+
+        PerRun(String name) {
+            this.name = name;
+        }
+
+        Recording start() {
+            count += 1;
+            return FlightRecordings.start(String.format("%s-run%d", name, count));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.collect.ImmutableList;
+import org.opentest4j.MultipleFailuresError;
+import org.terasology.engine.registry.In;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * The fields of a test class that {@link MTEExtension} injects, found once per class.
+ * <p>
+ * Looking up the {@link In} fields of a class and its superclasses and making them accessible is the same work for
+ * every instance, so the result is kept with the class and each field gets a {@link MethodHandle} setter.
+ */
+final class InjectionPlan {
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    private final ImmutableList<Target> targets;
+    private final ImmutableList<IllegalAccessException> failures;
+
+    private InjectionPlan(Class<?> testClass) {
+        ImmutableList.Builder<Target> targetsBuilder = ImmutableList.builder();
+        ImmutableList.Builder<IllegalAccessException> failuresBuilder = ImmutableList.builder();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> type = testClass; type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getAnnotation(In.class) == null) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    targetsBuilder.add(new Target(field.getType(), lookup.unreflectSetter(field)));
+                } catch (IllegalAccessException e) {
+                    failuresBuilder.add(e);
+                }
+            }
+        }
+        targets = targetsBuilder.build();
+        failures = failuresBuilder.build();
+    }
+
+    static InjectionPlan of(Class<?> testClass) {
+        return PLANS.get(testClass);
+    }
+
+    /**
+     * Sets every {@link In} field of the instance.
+     *
+     * @param instances provides the object to inject for a field's type
+     * @throws MultipleFailuresError if any of the fields can't be set
+     */
+    void inject(Object testInstance, Function<Class<?>, Object> instances) {
+        if (!failures.isEmpty()) {
+            throw new MultipleFailuresError("I cannot provide DI instances:", failures);
+        }
+        for (Target target : targets) {
+            try {
+                target.setter.invoke(testInstance, instances.apply(target.type));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to inject " + target.type.getName(), e);
+            }
+        }
+    }
+
+    private static final class Target {
+        final Class<?> type;
+        final MethodHandle setter;
+
+        Target(Class<?> type, MethodHandle setter) {
+            this.type = type;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the log of each test in memory, and only prints it when the test fails.
+ * <p>
+ * Set the {@value #MODE_PROPERTY} system property to {@code buffer} to replace the console appender of
+ * {@value MTEExtension#LOGBACK_RESOURCE} with a {@link BufferingAppender}, or to {@code async} to also have events
+ * handed to the buffer by a background thread. The buffer of a test holds everything logged since the previous test
+ * finished, including the startup of engines created for it, up to {@value #CAPACITY_PROPERTY} events.
+ */
+final class LogCapture {
+    static final String MODE_PROPERTY = "mte.logCapture";
+    static final String CAPACITY_PROPERTY = "mte.logCapture.capacity";
+    static final String CONSOLE_APPENDER = "CONSOLE";
+    static final String BUFFER_APPENDER = "MTE_BUFFER";
+    static final String DEFAULT_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    private static final long ASYNC_DRAIN_TIMEOUT_MS = 5000;
+
+    enum Mode {
+        CONSOLE, BUFFER, ASYNC
+    }
+
+    private LogCapture() { };
+
+    static Mode getMode() {
+        String property = System.getProperty(MODE_PROPERTY);
+        if (property == null || property.isEmpty()) {
+            return Mode.CONSOLE;
+        }
+        try {
+            return Mode.valueOf(property.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unknown value '%s' for the %s system property; use one of %s",
+                    property, MODE_PROPERTY, Arrays.toString(Mode.values())), e);
+        }
+    }
+
+    /**
+     * Replaces the root logger's console appender with a buffer, if the system property asks for it.
+     */
+    static void install(LoggerContext context) {
+        Mode mode = getMode();
+        if (mode == Mode.CONSOLE) {
+            return;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> console = root.getAppender(CONSOLE_APPENDER);
+
+        BufferingAppender buffer = new BufferingAppender();
+        buffer.setContext(context);
+        buffer.setName(BUFFER_APPENDER);
+        buffer.setCapacity(Integer.getInteger(CAPACITY_PROPERTY, BufferingAppender.DEFAULT_CAPACITY));
+        buffer.setEncoder(createEncoder(context, console));
+        if (console != null) {
+            console.getCopyOfAttachedFiltersList().forEach(buffer::addFilter);
+            root.detachAppender(console);
+            console.stop();
+        }
+        buffer.start();
+
+        if (mode == Mode.ASYNC) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName(BUFFER_APPENDER + "_ASYNC");
+            // Keep events of every level; the default drops INFO and below when the queue is nearly full.
+            async.setDiscardingThreshold(0);
+            async.addAppender(buffer);
+            async.start();
+            root.addAppender(async);
+        } else {
+            root.addAppender(buffer);
+        }
+    }
+
+    /**
+     * Prints the test's log if it failed, then starts the buffer over for the next test.
+     * <p>
+     * Also used when setting up or tearing down a test class fails, in which case the context is the class's.
+     */
+    static void testFinished(ExtensionContext context, boolean failed) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext)) {
+            return;
+        }
+        Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> appender = root.getAppender(BUFFER_APPENDER + "_ASYNC");
+        if (appender instanceof AsyncAppender) {
+            AsyncAppender async = (AsyncAppender) appender;
+            awaitEmptyQueue(async);
+            appender = async.getAppender(BUFFER_APPENDER);
+        } else {
+            appender = root.getAppender(BUFFER_APPENDER);
+        }
+        if (!(appender instanceof BufferingAppender)) {
+            return;
+        }
+        BufferingAppender buffer = (BufferingAppender) appender;
+
+        if (failed) {
+            PrintStream out = System.out;
+            out.printf("======== Log of failed %s ========%n", Scopes.getTestName(context));
+            try {
+                buffer.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            out.printf("======== End of log of %s ========%n", Scopes.getTestName(context));
+        }
+        buffer.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Encoder<ILoggingEvent> createEncoder(LoggerContext context, Appender<ILoggingEvent> console) {
+        if (console instanceof OutputStreamAppender) {
+            Encoder<ILoggingEvent> encoder = ((OutputStreamAppender<ILoggingEvent>) console).getEncoder();
+            if (encoder instanceof PatternLayoutEncoder) {
+                return createEncoder(context, ((PatternLayoutEncoder) encoder).getPattern());
+            }
+        }
+        return createEncoder(context, DEFAULT_PATTERN);
+    }
+
+    private static Encoder<ILoggingEvent> createEncoder(LoggerContext context, String pattern) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    /** Waits for the events logged so far to reach the buffer. */
+    private static void awaitEmptyQueue(AsyncAppender async) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ASYNC_DRAIN_TIMEOUT_MS);
+        while (async.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -8,25 +8,29 @@ import ch.qos.logback.classic.joran.JoranConfigurator;
 import ch.qos.logback.core.joran.spi.JoranException;
 import ch.qos.logback.core.util.StatusPrinter;
 import com.google.common.collect.Sets;
+import jdk.jfr.Recording;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
 import org.junit.jupiter.api.extension.TestInstancePostProcessor;
-import org.opentest4j.MultipleFailuresError;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.registry.In;
 import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.EnablePersistence;
+import org.terasology.moduletestingenvironment.extension.RecordJfr;
+import org.terasology.moduletestingenvironment.extension.TickBudget;
 import org.terasology.moduletestingenvironment.extension.UseWorldGenerator;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -74,6 +78,13 @@ import java.util.function.Function;
  *     <dt>{@link UseWorldGenerator @UseWorldGenerator}</dt>
  *     <dd>The URN of the world generator to use. Defaults to {@link org.terasology.moduletestingenvironment.fixtures.DummyWorldGenerator},
  *         a flat world.</dd>
+ *     <dt>{@link EnablePersistence @EnablePersistence}</dt>
+ *     <dd>Let the host write save games, so tests can save the game and restart the host with
+ *         {@link Engines#saveAndRestartHost()}.</dd>
+ *     <dt>{@link RecordJfr @RecordJfr}</dt>
+ *     <dd>Record a Java Flight Recorder session around each test method, or around each run of the {@link MainLoop}.</dd>
+ *     <dt>{@link TickBudget @TickBudget}</dt>
+ *     <dd>Fail the test if the host's ticks, run by the {@link MainLoop} during the test, take too long.</dd>
  * </dl>
  *
  * <p>
@@ -86,7 +97,8 @@ import java.util.function.Function;
  * This will configure the logger and the current implementation is not subtle or polite about it, see
  * {@link #setupLogging()} for notes.
  */
-public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestInstancePostProcessor {
+public class MTEExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, ParameterResolver,
+        TestInstancePostProcessor, LifecycleMethodExecutionExceptionHandler {
 
     static final String LOGBACK_RESOURCE = "default-logback.xml";
     protected Function<ExtensionContext, ExtensionContext.Namespace> helperLifecycle = Scopes.PER_CLASS;
@@ -100,6 +112,51 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
         setupLogging();
     }
 
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (TickBudgets.getBudget(context).isPresent()) {
+            getEngines(context).hostTickTimes = new TickTimes();
+        }
+
+        Optional<RecordJfr.Scope> recordingScope = FlightRecordings.getScope(context);
+        if (!recordingScope.isPresent()) {
+            return;
+        }
+        String name = FlightRecordings.getRecordingName(context);
+        if (recordingScope.get() == RecordJfr.Scope.RUN) {
+            getEngines(context).runRecorder = new FlightRecordings.PerRun(name);
+        } else {
+            context.getStore(Scopes.mteNamespace(RecordJfr.class)).put(Recording.class, FlightRecordings.start(name));
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        boolean failed = context.getExecutionException().isPresent();
+        try {
+            Recording recording = context.getStore(Scopes.mteNamespace(RecordJfr.class)).remove(Recording.class, Recording.class);
+            if (recording != null) {
+                FlightRecordings.stop(recording);
+            }
+            if (FlightRecordings.getScope(context).isPresent()) {
+                getEngines(context).runRecorder = null;
+            }
+
+            Optional<TickBudget> tickBudget = TickBudgets.getBudget(context);
+            if (tickBudget.isPresent()) {
+                Engines engines = getEngines(context);
+                TickTimes tickTimes = engines.hostTickTimes;
+                engines.hostTickTimes = null;
+                TickBudgets.check(tickBudget.get(), tickTimes, context);
+            }
+        } catch (RuntimeException | Error e) {
+            failed = true;
+            throw e;
+        } finally {
+            LogCapture.testFinished(context, failed);
+        }
+    }
+
     @Override
     public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
         Class<?> type = parameterContext.getParameter().getType();
@@ -122,9 +179,9 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
         if (type.isAssignableFrom(Engines.class)) {
             return engines;
         } else if (type.isAssignableFrom(MainLoop.class)) {
-            return new MainLoop(engines);
+            return engines.getMainLoop();
         } else if (type.isAssignableFrom(ModuleTestingHelper.class)) {
-            return new ModuleTestingHelper(engines);
+            return engines.getModuleTestingHelper();
         } else {
             return engines.getHostContext().get(type);
         }
@@ -132,30 +189,29 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
 
     @Override
     public void postProcessTestInstance(Object testInstance, ExtensionContext extensionContext) {
-        Engines engines = getEngines(extensionContext);
-        List<IllegalAccessException> exceptionList = new LinkedList<>();
-        Class<?> type = testInstance.getClass();
-        while (type != null) {
-            Arrays.stream(type.getDeclaredFields())
-                    .filter((field) -> field.getAnnotation(In.class) != null)
-                    .peek((field) -> field.setAccessible(true))
-                    .forEach((field) -> {
-                        Object candidateObject = getDIInstance(engines, field.getType());
-                        try {
-                            field.set(testInstance, candidateObject);
-                        } catch (IllegalAccessException e) {
-                            exceptionList.add(e);
-                        }
-                    });
-
-            type = type.getSuperclass();
-        }
-        // It is tests, then it is legal ;)
-        if (!exceptionList.isEmpty()) {
-            throw new MultipleFailuresError("I cannot provide DI instances:", exceptionList);
+        try {
+            Engines engines = getEngines(extensionContext);
+            // It is tests, then it is legal ;)
+            InjectionPlan.of(testInstance.getClass()).inject(testInstance, type -> getDIInstance(engines, type));
+        } catch (RuntimeException | Error e) {
+            // Starting the engines failed; no afterEach will print the log of it.
+            LogCapture.testFinished(extensionContext, true);
+            throw e;
         }
     }
 
+    @Override
+    public void handleBeforeAllMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        LogCapture.testFinished(context, true);
+        throw throwable;
+    }
+
+    @Override
+    public void handleAfterAllMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        LogCapture.testFinished(context, true);
+        throw throwable;
+    }
+
     public String getWorldGeneratorUri(ExtensionContext context) {
         UseWorldGenerator useWorldGenerator = getTestClass.apply(context).getAnnotation(UseWorldGenerator.class);
         return useWorldGenerator != null ? useWorldGenerator.value() : null;
@@ -169,8 +225,7 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
     /**
      * Get the Engines for this test.
      * <p>
-     * The new Engines instance is configured using the {@link Dependencies} and {@link UseWorldGenerator}
-     * annotations for the test class.
+     * The new Engines instance is configured by {@link #createEngines}.
      * <p>
      * This will create a new instance when necessary. It will be stored in the
      * {@link ExtensionContext} for reuse between tests that wish to avoid the expense of creating a new
@@ -182,11 +237,24 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
     protected Engines getEngines(ExtensionContext context) {
         ExtensionContext.Store store = context.getStore(helperLifecycle.apply(context));
         EnginesCleaner autoCleaner = store.getOrComputeIfAbsent(
-                EnginesCleaner.class, k -> new EnginesCleaner(getDependencyNames(context), getWorldGeneratorUri(context)),
+                EnginesCleaner.class, k -> new EnginesCleaner(createEngines(context)),
                 EnginesCleaner.class);
         return autoCleaner.engines;
     }
 
+    /**
+     * Create an Engines instance configured using the {@link Dependencies}, {@link UseWorldGenerator},
+     * and {@link EnablePersistence} annotations for the test class.
+     *
+     * @param context for the current test
+     * @return configured for this test, but not yet set up
+     */
+    protected Engines createEngines(ExtensionContext context) {
+        Engines engines = new Engines(getDependencyNames(context), getWorldGeneratorUri(context));
+        engines.setPersistenceEnabled(getTestClass.apply(context).isAnnotationPresent(EnablePersistence.class));
+        return engines;
+    }
+
     /**
      * Apply our default logback configuration to the logger.
      * <p>
@@ -200,6 +268,9 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
      *   <li>Provide a way to add/change/override what this is doing that doesn't require checking
      *       out the MTE sources and editing default-logback.xml.
      * </ul>
+     * <p>
+     * With the {@value LogCapture#MODE_PROPERTY} system property, the console appender is replaced by a per-test
+     * buffer that is only printed when the test fails; see {@link LogCapture}.
      */
     void setupLogging() {
         // This is mostly right out of the book:
@@ -220,6 +291,7 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
         } finally {
             StatusPrinter.printInCaseOfErrorsOrWarnings(context);
         }
+        LogCapture.install(context);
     }
 
     /**
@@ -231,8 +303,8 @@ public class MTEExtension implements BeforeAllCallback, ParameterResolver, TestI
     static class EnginesCleaner implements ExtensionContext.Store.CloseableResource {
         protected Engines engines;
 
-        EnginesCleaner(Set<String> dependencyNames, String worldGeneratorUri) {
-            engines = new Engines(dependencyNames, worldGeneratorUri);
+        EnginesCleaner(Engines engines) {
+            this.engines = engines;
             engines.setup();
         }
 
@@ -5,27 +5,40 @@ package org.terasology.moduletestingenvironment;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.common.util.concurrent.UncheckedTimeoutException;
+import jdk.jfr.Recording;
 import org.joml.Matrix4f;
 import org.joml.RoundingMode;
 import org.joml.Vector3f;
 import org.joml.Vector3fc;
 import org.joml.Vector3i;
 import org.joml.Vector3ic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.core.TerasologyEngine;
 import org.terasology.engine.core.Time;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.chunks.localChunkProvider.RelevanceSystem;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 /**
@@ -47,18 +60,34 @@ import java.util.function.Supplier;
  * and a world. The engine is ready by the time a test method is executed, but does not <em>run</em>
  * until you use one of these methods.
  * <p>
- * If there are multiple engines (a host and one or more clients), they will tick in a round-robin fashion.
+ * If there are multiple engines (a host and one or more clients), they will tick in a round-robin fashion. Engines
+ * that don't need to tick as often can be slowed down with {@link Engines#setTickInterval}.
  * <p>
  * This class is available via dependency injection with the {@link org.terasology.engine.registry.In} annotation
  * or as a parameter to a JUnit {@link org.junit.jupiter.api.Test} method; see {@link MTEExtension}.
  */
 public class MainLoop {
+    /** System property with the default for {@link #setTickPeriodMs}. */
+    public static final String TICK_PERIOD_PROPERTY = "mte.tickPeriodMs";
+
+    private static final Logger logger = LoggerFactory.getLogger(MainLoop.class);
+
     // TODO: Can we get rid of this by making sure our main loop is compatible with JUnit's timeout spec?
     long safetyTimeoutMs = ModuleTestingEnvironment.DEFAULT_SAFETY_TIMEOUT;
+    long tickPeriodMs = Long.getLong(TICK_PERIOD_PROPERTY, 0);
 
     private final Engines engines;
+    /** Actions to run once the host has ticked a certain number of times, in the order they were added. */
+    private final Queue<HostTickAction> hostTickActions = new ArrayDeque<>();
+    private long hostTicks;
+    /** Iterations of the loop over all runs, so tick intervals also hold across many short runs. */
+    private long iteration;
+    private final Map<TerasologyEngine, Long> tickCounts = new HashMap<>();
+    /** Whether a flight recording of the current top-level run is in progress. */
+    private boolean recordingRun;
 
     public MainLoop(Engines engines) {
+        Preconditions.checkArgument(tickPeriodMs >= 0, "%s must not be negative, was %s", TICK_PERIOD_PROPERTY, tickPeriodMs);
         this.engines = engines;
     }
 
@@ -120,9 +149,76 @@ public class MainLoop {
         EntityManager entityManager = Verify.verifyNotNull(engines.getHostContext().get(EntityManager.class));
         RelevanceSystem relevanceSystem = Verify.verifyNotNull(engines.getHostContext().get(RelevanceSystem.class));
         ChunkRegionFuture listener = ChunkRegionFuture.create(entityManager, relevanceSystem, centerBlock, desiredSize);
+        listener.getFuture().addListener(() -> engines.getChunkRegionStatistics().add(listener), MoreExecutors.directExecutor());
         return listener.getFuture();
     }
 
+    /**
+     * Sets all these blocks in one batch.
+     * <p>
+     * The area containing the blocks is made relevant first. The blocks are then set between two host ticks with
+     * {@link WorldProvider#setBlocks}, which handles block entities and the notification of listeners once for the
+     * whole batch instead of once per block as {@link WorldProvider#setBlock} does. The returned future completes after
+     * the host has ticked once more, so anything the change triggered for the next update has run.
+     * <p>
+     * The area stays relevant, so the changes are kept, until {@link PlacedBlocks#release()} is called.
+     * <p>
+     * This method is asynchronous. Pass the result to {@link #runUntil(ListenableFuture)} to wait until it is done.
+     *
+     * @param blocks the block to set at each position
+     * @return the blocks that were replaced, and the relevance region to release when done with them
+     */
+    public ListenableFuture<PlacedBlocks> setBlocks(Map<? extends Vector3ic, Block> blocks) {
+        if (blocks.isEmpty()) {
+            return Futures.immediateFuture(new PlacedBlocks(Collections.emptyMap(), null));
+        }
+        BlockRegion bounds = new BlockRegion(BlockRegion.INVALID);
+        blocks.keySet().forEach(bounds::union);
+        WorldProvider worldProvider = Verify.verifyNotNull(engines.getHostContext().get(WorldProvider.class));
+
+        SettableFuture<PlacedBlocks> settled = SettableFuture.create();
+        ListenableFuture<ChunkRegionFuture> region = makeBlocksRelevant(bounds);
+        // The region completes in the middle of the chunk provider's update, so the blocks are set after that tick.
+        region.addListener(() -> afterHostTicks(1, () -> {
+            try {
+                ChunkRegionFuture chunkRegion = Futures.getDone(region);
+                Map<Vector3ic, Block> replaced = worldProvider.setBlocks(blocks);
+                afterHostTicks(1, () -> settled.set(new PlacedBlocks(replaced, chunkRegion)));
+            } catch (ExecutionException e) {
+                settled.setException(e.getCause());
+            } catch (RuntimeException e) {
+                settled.setException(e);
+            }
+        }), MoreExecutors.directExecutor());
+        return settled;
+    }
+
+    /**
+     * Fills a region with one block in a single batch; see {@link #setBlocks(Map)}.
+     */
+    public ListenableFuture<PlacedBlocks> fill(BlockRegionc region, Block block) {
+        Map<Vector3ic, Block> blocks = new HashMap<>();
+        for (Vector3ic pos : region) {
+            blocks.put(new Vector3i(pos), block);
+        }
+        return setBlocks(blocks);
+    }
+
+    /**
+     * Runs the action once the host has completed this many more ticks.
+     * <p>
+     * When called during a host tick, that tick counts as one.
+     */
+    void afterHostTicks(int ticks, Runnable action) {
+        hostTickActions.add(new HostTickAction(hostTicks + ticks, action));
+    }
+
+    private void runHostTickActions() {
+        while (!hostTickActions.isEmpty() && hostTickActions.peek().dueTick <= hostTicks) {
+            hostTickActions.poll().action.run();
+        }
+    }
+
     BlockRegionc chunkRegionToNewBlockRegion(BlockRegionc chunks) {
         BlockRegion blocks = new BlockRegion(chunks);
         return blocks.transform(new Matrix4f().scaling(new Vector3f(Chunks.CHUNK_SIZE)));
@@ -187,23 +283,125 @@ public class MainLoop {
      * @return true if execution timed out
      */
     public boolean runWhile(long gameTimeTimeoutMs, Supplier<Boolean> f) {
+        return recordRun(() -> tickWhile(gameTimeTimeoutMs, f));
+    }
+
+    /**
+     * Runs the operation in its own flight recording, if the test records each run.
+     * <p>
+     * Runs started by the operation itself, such as the steps of {@link #advanceGameTime}, are part of its recording.
+     * A failure to write the recording never hides a failure of the operation.
+     */
+    private <T> T recordRun(Supplier<T> operation) {
+        FlightRecordings.PerRun runRecorder = engines.runRecorder;
+        if (runRecorder == null || recordingRun) {
+            return operation.get();
+        }
+        Recording recording = runRecorder.start();
+        recordingRun = true;
+        Throwable failure = null;
+        try {
+            return operation.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            recordingRun = false;
+            try {
+                FlightRecordings.stop(recording);
+            } catch (RuntimeException e) {
+                if (failure != null) {
+                    failure.addSuppressed(e);
+                } else {
+                    logger.warn("Failed to write flight recording {}", recording.getName(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the host's game time forward without waiting for it to pass, in one step.
+     *
+     * @see #advanceGameTime(long, long)
+     */
+    public void advanceGameTime(long durationMs) {
+        advanceGameTime(durationMs, durationMs);
+    }
+
+    /**
+     * Moves the host's game time forward without waiting for it to pass.
+     * <p>
+     * Game time is advanced by {@code stepMs} at a time, and after each step the engines are ticked once so the host's
+     * systems can catch up: actions of the {@link org.terasology.engine.logic.delay.DelayManager DelayManager} that
+     * became due fire in the order they were scheduled for, and each periodic action fires once. To see every firing of
+     * a periodic action, use a step no longer than its period. Clients follow the host's time as they receive updates
+     * from it.
+     * <pre><code>
+     * delayManager.addDelayedAction(entity, "MyModule:cooldown", 60_000);
+     * mainLoop.advanceGameTime(60_000);  // fires the action right away
+     * </code></pre>
+     *
+     * @param durationMs how much game time to skip
+     * @param stepMs how much game time to skip between ticks
+     */
+    public void advanceGameTime(long durationMs, long stepMs) {
+        Preconditions.checkArgument(durationMs >= 0, "duration must not be negative");
+        Preconditions.checkArgument(stepMs > 0, "step must be positive");
+        Time hostTime = engines.getHostContext().get(Time.class);
+        recordRun(() -> {
+            long remaining = durationMs;
+            while (remaining > 0) {
+                long step = Math.min(stepMs, remaining);
+                hostTime.setGameTime(hostTime.getGameTimeInMs() + step);
+                remaining -= step;
+                boolean[] ticked = {false};
+                runWhile(() -> {
+                    boolean first = !ticked[0];
+                    ticked[0] = true;
+                    return first;
+                });
+            }
+            return null;
+        });
+    }
+
+    private boolean tickWhile(long gameTimeTimeoutMs, Supplier<Boolean> f) {
         boolean timedOut = false;
         Time hostTime = engines.getHostContext().get(Time.class);
         long startRealTime = System.currentTimeMillis();
         long startGameTime = hostTime.getGameTimeInMs();
 
         while (f.get() && !timedOut) {
-            Thread.yield();
+            long iterationStart = System.nanoTime();
+            if (tickPeriodMs <= 0) {
+                Thread.yield();
+            }
             if (Thread.currentThread().isInterrupted()) {
                 throw new RuntimeException(String.format("Thread %s interrupted while waiting for %s.",
                         Thread.currentThread(), f));
             }
             for (TerasologyEngine terasologyEngine : engines.getEngines()) {
+                if (iteration % engines.getTickInterval(terasologyEngine) != 0) {
+                    continue;
+                }
+                long tickStart = System.nanoTime();
                 boolean keepRunning = terasologyEngine.tick();
-                if (!keepRunning && terasologyEngine == engines.host) {
-                    throw new RuntimeException("Host has shut down: " + engines.host.getStatus());
+                tickCounts.merge(terasologyEngine, 1L, Long::sum);
+                if (terasologyEngine == engines.host) {
+                    if (!keepRunning) {
+                        throw new RuntimeException("Host has shut down: " + engines.host.getStatus());
+                    }
+                    if (engines.hostTickTimes != null) {
+                        engines.hostTickTimes.add(System.nanoTime() - tickStart);
+                    }
+                    hostTicks++;
+                    runHostTickActions();
+                } else {
+                    engines.discardChunks(terasologyEngine);
                 }
             }
+            iteration++;
+            waitForNextTick(iterationStart);
 
             // handle safety timeout
             if (System.currentTimeMillis() - startRealTime > safetyTimeoutMs) {
@@ -223,6 +421,56 @@ public class MainLoop {
         return timedOut;
     }
 
+    /**
+     * How many times this loop has ticked the engine.
+     *
+     * @param engine the host or one of the clients
+     */
+    public long getTickCount(TerasologyEngine engine) {
+        return tickCounts.getOrDefault(engine, 0L);
+    }
+
+    /**
+     * Parks the thread for the rest of the tick period, if there is one.
+     */
+    private void waitForNextTick(long iterationStart) {
+        if (tickPeriodMs <= 0) {
+            return;
+        }
+        long deadline = iterationStart + TimeUnit.MILLISECONDS.toNanos(tickPeriodMs);
+        long remaining = deadline - System.nanoTime();
+        // parkNanos may return early, so keep going until the deadline has passed.
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * @return the current tick period, or 0 if the loop ticks as fast as it can
+     */
+    public long getTickPeriodMs() {
+        return tickPeriodMs;
+    }
+
+    /**
+     * Paces the loop to at most one iteration per {@code tickPeriodMs} milliseconds of real time.
+     * <p>
+     * By default (0) the loop ticks the engines again as soon as it is done with them, which keeps a CPU core busy
+     * even when the test is only waiting for game time to pass. With a tick period the thread is parked for the rest
+     * of the period instead, e.g. {@code 16} for about 60 ticks per second. Game time follows real time, so tests
+     * waiting for game time take as long as before; tests waiting for chunks or network traffic may take a bit longer.
+     * <p>
+     * The default can be set for all tests with the {@value TICK_PERIOD_PROPERTY} system property.
+     *
+     * @param tickPeriodMs minimum real time per iteration of the loop, or 0 to not wait between iterations
+     * @throws IllegalArgumentException if the period is negative
+     */
+    public void setTickPeriodMs(long tickPeriodMs) {
+        Preconditions.checkArgument(tickPeriodMs >= 0, "Tick period must not be negative, was %s", tickPeriodMs);
+        this.tickPeriodMs = tickPeriodMs;
+    }
+
     /**
      * @return the current safety timeout
      */
@@ -245,4 +493,14 @@ public class MainLoop {
     public void setSafetyTimeoutMs(long safetyTimeoutMs) {
         this.safetyTimeoutMs = safetyTimeoutMs;
     }
+
+    private static final class HostTickAction {
+        final long dueTick;
+        final Runnable action;
+
+        HostTickAction(long dueTick, Runnable action) {
+            this.dueTick = dueTick;
+            this.action = action;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.terasology.engine.core.TerasologyConstants;
+import org.terasology.engine.core.module.ModuleManager;
+import org.terasology.gestalt.module.Module;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers modules MTE has already read, so engines created later in the same JVM don't scan them again.
+ * <p>
+ * The host and every client read the install path as a module (see {@link Engines#registerCurrentDirectoryIfModule}).
+ * Reading a directory module means scanning all of its classes, but the result is the same every time as long as the
+ * module's <code>module.txt</code> is unchanged, so it is done once per JVM.
+ */
+final class ModuleCache {
+    private static final Map<Key, Optional<Module>> INSTALL_PATH_MODULES = new ConcurrentHashMap<>();
+
+    private ModuleCache() { };
+
+    /**
+     * The module at this path, read with the given module manager's factory on first use.
+     *
+     * @return the module, or empty if the path does not contain a module
+     */
+    static Optional<Module> getModule(ModuleManager moduleManager, Path path) throws IOException {
+        Key key = new Key(path, hashModuleInfo(path));
+        Optional<Module> module = INSTALL_PATH_MODULES.get(key);
+        if (module == null) {
+            module = Optional.ofNullable(moduleManager.getModuleFactory().createModule(path.toFile()));
+            INSTALL_PATH_MODULES.put(key, module);
+        }
+        return module;
+    }
+
+    /**
+     * A hash of the module.txt in this directory, or of nothing if there isn't one.
+     */
+    static HashCode hashModuleInfo(Path directory) throws IOException {
+        Path moduleInfo = directory.resolve(TerasologyConstants.MODULE_INFO_FILENAME.toString());
+        byte[] content = Files.isRegularFile(moduleInfo) ? Files.readAllBytes(moduleInfo) : new byte[0];
+        return Hashing.sha256().hashBytes(content);
+    }
+
+    private static final class Key {
+        private final Path path;
+        private final HashCode moduleInfoHash;
+
+        private Key(Path path, HashCode moduleInfoHash) {
+            this.path = path.toAbsolutePath().normalize();
+            this.moduleInfoHash = moduleInfoHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && moduleInfoHash.equals(other.moduleInfoHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * path.hashCode() + moduleInfoHash.hashCode();
+        }
+    }
+}
@@ -22,6 +22,7 @@ public interface ModuleTestingEnvironment {
     long DEFAULT_SAFETY_TIMEOUT = 60000;
     long DEFAULT_GAME_TIME_TIMEOUT = 30000;
     String DEFAULT_WORLD_GENERATOR = "moduletestingenvironment:dummy";
+    String EMPTY_WORLD_GENERATOR = "moduletestingenvironment:empty";
 
     /**
      * Creates a dummy entity with RelevanceRegion component to force a chunk's generation and availability. Blocks while waiting for the
@@ -33,7 +33,7 @@ public class ModuleTestingHelper implements ModuleTestingEnvironment {
 
     ModuleTestingHelper(Engines engines) {
         this.engines = engines;
-        this.mainLoop = new MainLoop(engines);
+        this.mainLoop = engines.getMainLoop();
     }
 
     @Override
@@ -0,0 +1,73 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The quality of the connection between a client and the host, for {@link Engines#createClient(MainLoop, NetworkConditions)}.
+ * <p>
+ * Instances are immutable; start with {@link #perfect()} and add the imperfections you need:
+ * <pre><code>
+ * NetworkConditions.perfect().withLatencyMs(80).withJitterMs(20).withBytesPerSecond(64 * 1024)
+ * </code></pre>
+ */
+public final class NetworkConditions {
+    private static final NetworkConditions PERFECT = new NetworkConditions(0, 0, 0);
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final long bytesPerSecond;
+
+    private NetworkConditions(long latencyMs, long jitterMs, long bytesPerSecond) {
+        Preconditions.checkArgument(latencyMs >= 0, "latency must not be negative");
+        Preconditions.checkArgument(jitterMs >= 0, "jitter must not be negative");
+        Preconditions.checkArgument(bytesPerSecond >= 0, "bandwidth must not be negative");
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /** No added latency and unlimited bandwidth. */
+    public static NetworkConditions perfect() {
+        return PERFECT;
+    }
+
+    /** Delay everything sent in either direction by this many milliseconds. */
+    public NetworkConditions withLatencyMs(long newLatencyMs) {
+        return new NetworkConditions(newLatencyMs, jitterMs, bytesPerSecond);
+    }
+
+    /**
+     * Add a random delay of up to this many milliseconds on top of the latency.
+     * <p>
+     * The connection is a TCP stream, so data is never reordered: data that would overtake earlier data waits for it.
+     */
+    public NetworkConditions withJitterMs(long newJitterMs) {
+        return new NetworkConditions(latencyMs, newJitterMs, bytesPerSecond);
+    }
+
+    /** Limit each direction to this many bytes per second, or 0 for unlimited. */
+    public NetworkConditions withBytesPerSecond(long newBytesPerSecond) {
+        return new NetworkConditions(latencyMs, jitterMs, newBytesPerSecond);
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public long getJitterMs() {
+        return jitterMs;
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("latency %d ms, jitter %d ms, %s", latencyMs, jitterMs,
+                bytesPerSecond > 0 ? bytesPerSecond + " bytes/s" : "unlimited bandwidth");
+    }
+}
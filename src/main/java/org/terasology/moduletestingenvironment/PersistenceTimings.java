@@ -0,0 +1,53 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import java.time.Duration;
+
+/**
+ * How long the steps of {@link Engines#saveAndRestartHost()} took.
+ */
+public class PersistenceTimings {
+    private final Duration serialization;
+    private final Duration write;
+    private final Duration shutdown;
+    private final Duration reload;
+
+    PersistenceTimings(Duration serialization, Duration write, Duration shutdown, Duration reload) {
+        this.serialization = serialization;
+        this.write = write;
+        this.shutdown = shutdown;
+        this.reload = reload;
+    }
+
+    /**
+     * The host tick in which the save started.
+     * <p>
+     * This is when the game's entities and chunks are serialized, on the host's main thread.
+     */
+    public Duration getSerialization() {
+        return serialization;
+    }
+
+    /** From the end of serialization until the save was written. */
+    public Duration getWrite() {
+        return write;
+    }
+
+    /** Shutting down and cleaning up the old host. */
+    public Duration getShutdown() {
+        return shutdown;
+    }
+
+    /** Starting a new host from the save until it is in game. */
+    public Duration getReload() {
+        return reload;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("serialization %d ms, write %d ms, shutdown %d ms, reload %d ms",
+                serialization.toMillis(), write.toMillis(), shutdown.toMillis(), reload.toMillis());
+    }
+}
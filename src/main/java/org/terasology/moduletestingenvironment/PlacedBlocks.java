@@ -0,0 +1,49 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Blocks set by {@link MainLoop#setBlocks}, and the relevance region that keeps their area loaded.
+ * <p>
+ * The area stays loaded until {@link #release()} is called. Engines are often shared by all tests of a class, so
+ * release the region once the test no longer needs the blocks, unless later tests of the class rely on them. Without
+ * persistence, changes to chunks that are unloaded are lost.
+ */
+public class PlacedBlocks {
+    private final Map<Vector3ic, Block> replacedBlocks;
+    private final ChunkRegionFuture region;
+
+    PlacedBlocks(Map<Vector3ic, Block> replacedBlocks, ChunkRegionFuture region) {
+        this.replacedBlocks = Collections.unmodifiableMap(replacedBlocks);
+        this.region = region;
+    }
+
+    /** The block that was at each position before. */
+    public Map<Vector3ic, Block> getReplacedBlocks() {
+        return replacedBlocks;
+    }
+
+    /** The relevance region keeping the blocks loaded; empty if no blocks were set. */
+    public Optional<ChunkRegionFuture> getRegion() {
+        return Optional.ofNullable(region);
+    }
+
+    /**
+     * Lets the area be unloaded again, by destroying the entity that defines its relevance region.
+     * <p>
+     * Calling this more than once has no further effect.
+     */
+    public void release() {
+        if (region != null && region.getEntity().exists()) {
+            region.getEntity().destroy();
+        }
+    }
+}
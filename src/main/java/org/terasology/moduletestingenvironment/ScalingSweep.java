@@ -0,0 +1,170 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.world.block.BlockRegion;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one scenario at increasing numbers of clients and sizes of relevance regions, and writes a scaling curve.
+ * <p>
+ * For every combination of client count and region size, the sweep
+ * <ol>
+ *     <li>creates clients with {@link Engines#createClient} until there are as many as requested,
+ *     <li>loads a region of that many chunks on each side with {@link MainLoop#makeChunksRelevant}, in a part of the
+ *         world that has not been loaded before,
+ *     <li>runs the engines for the measurement time while calling the scenario every iteration, measuring the
+ *         duration of each host tick,
+ * </ol>
+ * and writes a CSV line with the setup latencies, the host tick percentiles, and the heap used per chunk and per client.
+ * <pre><code>
+ * new ScalingSweep(engines, mainLoop)
+ *         .setClientCounts(0, 1, 2, 4, 8)
+ *         .setRegionSizes(1, 3, 5, 7)
+ *         .run(Paths.get("build", "scaling.csv"));
+ * </code></pre>
+ * Clients only ever get added, so client counts are run in increasing order. Memory figures are the growth of the heap
+ * after a full garbage collection, which makes them estimates.
+ */
+public class ScalingSweep {
+    static final String CSV_HEADER = "clients,regionSizeChunks,loadedChunks,clientSetupMs,regionSetupMs,"
+            + "hostTickP50Ms,hostTickP99Ms,heapBytesPerChunk,heapBytesPerClient";
+
+    private static final Logger logger = LoggerFactory.getLogger(ScalingSweep.class);
+
+    private final Engines engines;
+    private final MainLoop mainLoop;
+    private int[] clientCounts = {0};
+    private int[] regionSizes = {1};
+    private long measureGameTimeMs = TimeUnit.SECONDS.toMillis(5);
+    private Runnable scenario = () -> { };
+
+    public ScalingSweep(Engines engines, MainLoop mainLoop) {
+        this.engines = engines;
+        this.mainLoop = mainLoop;
+    }
+
+    /** How many clients to measure with (default only 0). */
+    public ScalingSweep setClientCounts(int... counts) {
+        Preconditions.checkArgument(counts.length > 0 && Arrays.stream(counts).allMatch(count -> count >= 0),
+                "client counts must not be negative");
+        this.clientCounts = Arrays.stream(counts).sorted().distinct().toArray();
+        return this;
+    }
+
+    /** Edge lengths, in chunks, of the regions to load (default only 1). */
+    public ScalingSweep setRegionSizes(int... sizesInChunks) {
+        Preconditions.checkArgument(sizesInChunks.length > 0 && Arrays.stream(sizesInChunks).allMatch(size -> size > 0),
+                "region sizes must be positive");
+        this.regionSizes = Arrays.stream(sizesInChunks).sorted().distinct().toArray();
+        return this;
+    }
+
+    /** How much game time to run the scenario for at each point (default 5 seconds). */
+    public ScalingSweep setMeasureGameTimeMs(long measureGameTimeMs) {
+        Preconditions.checkArgument(measureGameTimeMs > 0, "measurement time must be positive");
+        this.measureGameTimeMs = measureGameTimeMs;
+        return this;
+    }
+
+    /** Called every iteration of the loop while measuring. */
+    public ScalingSweep setScenario(Runnable scenario) {
+        this.scenario = scenario;
+        return this;
+    }
+
+    /**
+     * Runs the sweep.
+     *
+     * @param output CSV file to write the scaling curve to; it is written as the sweep progresses
+     */
+    public void run(Path output) {
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(output))) {
+                out.println(CSV_HEADER);
+                sweep(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Wrote scaling curve to {}", output.toAbsolutePath());
+    }
+
+    private void sweep(PrintWriter out) throws IOException {
+        int clients = engines.getEngines().size() - 1;
+        long bytesPerClient = 0;
+        int nextChunkX = 0;
+
+        for (int clientCount : clientCounts) {
+            long heapBefore = SoakRunner.usedHeapAfterGc();
+            long clientStart = System.nanoTime();
+            int added = 0;
+            while (clients < clientCount) {
+                engines.createClient(mainLoop);
+                clients++;
+                added++;
+            }
+            long clientSetupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - clientStart);
+            if (added > 0) {
+                bytesPerClient = (SoakRunner.usedHeapAfterGc() - heapBefore) / added;
+            }
+
+            for (int size : regionSizes) {
+                // Leave a gap of unloaded chunks so this region shares nothing with the previous one.
+                BlockRegion chunks = new BlockRegion(nextChunkX, 0, 0, nextChunkX + size - 1, size - 1, size - 1);
+                nextChunkX += 2 * size + 2 * ChunkRegionFuture.REQUIRED_CHUNK_MARGIN + 2;
+
+                heapBefore = SoakRunner.usedHeapAfterGc();
+                long regionStart = System.nanoTime();
+                ChunkRegionFuture region = mainLoop.runUntil(mainLoop.makeChunksRelevant(chunks));
+                long regionSetupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - regionStart);
+                int loadedChunks = region.getLoadedChunks().size();
+                long bytesPerChunk = loadedChunks > 0 ? (SoakRunner.usedHeapAfterGc() - heapBefore) / loadedChunks : 0;
+
+                TickTimes tickTimes = measure();
+                out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%.3f,%.3f,%d,%d%n", clients, size, loadedChunks,
+                        clientSetupMs, regionSetupMs, tickTimes.getPercentileMs(50), tickTimes.getPercentileMs(99),
+                        bytesPerChunk, bytesPerClient);
+                out.flush();
+
+                region.getEntity().destroy();
+                clientSetupMs = 0;
+            }
+        }
+    }
+
+    /**
+     * Runs the scenario while measuring the host's ticks.
+     * <p>
+     * Ticks measured here don't count towards a {@link org.terasology.moduletestingenvironment.extension.TickBudget}.
+     */
+    private TickTimes measure() {
+        TickTimes previous = engines.hostTickTimes;
+        TickTimes tickTimes = new TickTimes();
+        engines.hostTickTimes = tickTimes;
+        try {
+            mainLoop.runWhile(measureGameTimeMs, () -> {
+                scenario.run();
+                return true;
+            });
+        } finally {
+            engines.hostTickTimes = previous;
+        }
+        return tickTimes;
+    }
+}
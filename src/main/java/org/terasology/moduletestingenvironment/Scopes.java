@@ -39,4 +39,15 @@ public final class Scopes {
         Class<?> testClass = context.getRequiredTestClass();
         return testClass.isAnnotationPresent(Nested.class) ? testClass.getEnclosingClass() : testClass;
     }
+
+    /**
+     * A short name for this test, such as <code>MyTest.myMethod</code>, for use in reports and file names.
+     *
+     * @param context for the current test
+     * @return the simple name of the top test class, followed by the name of the test method if there is one
+     */
+    static String getTestName(ExtensionContext context) {
+        return getTopTestClass(context).getSimpleName()
+                + context.getTestMethod().map(method -> "." + method.getName()).orElse("");
+    }
 }
@@ -0,0 +1,217 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays a client's connection to the host under simulated {@link NetworkConditions}.
+ * <p>
+ * The client connects to this link's port on the loopback interface instead of to the host. The link accepts only
+ * that one connection. Everything the client sends or receives passes through a queue per direction, where it is held
+ * back for the configured latency and jitter and released no faster than the configured bandwidth allows.
+ * <p>
+ * The counters can be read at any time to see how much data was exchanged and how much was waiting in the queues.
+ * Delays are in real time, which matches game time as long as the game runs at normal speed.
+ */
+public class SimulatedLink implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedLink.class);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final NetworkConditions conditions;
+    private final int hostPort;
+    private final ServerSocket serverSocket;
+    private final List<Closeable> connections = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final Direction toHost = new Direction("to host");
+    private final Direction toClient = new Direction("to client");
+
+    SimulatedLink(NetworkConditions conditions, int hostPort) throws IOException {
+        this.conditions = conditions;
+        this.hostPort = hostPort;
+        this.serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        start("accept", this::acceptConnection);
+    }
+
+    /** The address for the client to connect to. */
+    String getAddress() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    /** The port for the client to connect to. */
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public NetworkConditions getConditions() {
+        return conditions;
+    }
+
+    /** Bytes delivered from the client to the host. */
+    public long getBytesToHost() {
+        return toHost.deliveredBytes.get();
+    }
+
+    /** Bytes delivered from the host to the client. */
+    public long getBytesToClient() {
+        return toClient.deliveredBytes.get();
+    }
+
+    /** Bytes currently waiting to be delivered, in both directions. */
+    public long getQueuedBytes() {
+        return toHost.queuedBytes.get() + toClient.queuedBytes.get();
+    }
+
+    /** The most bytes that have been waiting to be delivered in one direction at the same time. */
+    public long getMaxQueuedBytes() {
+        return Math.max(toHost.maxQueuedBytes.get(), toClient.maxQueuedBytes.get());
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(serverSocket);
+        connections.forEach(SimulatedLink::closeQuietly);
+        threads.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimulatedLink(%s; %d bytes to host, %d bytes to client, max %d bytes queued)",
+                conditions, getBytesToHost(), getBytesToClient(), getMaxQueuedBytes());
+    }
+
+    private void acceptConnection() {
+        Socket client;
+        try {
+            client = serverSocket.accept();
+        } catch (IOException e) {
+            logger.debug("Simulated link closed before a client connected", e);
+            return;
+        } finally {
+            // The queues and their release times belong to a single stream; a second connection would interleave.
+            closeQuietly(serverSocket);
+        }
+        connections.add(client);
+        try {
+            Socket host = new Socket(InetAddress.getLoopbackAddress(), hostPort);
+            connections.add(host);
+            client.setTcpNoDelay(true);
+            host.setTcpNoDelay(true);
+            toHost.relay(client.getInputStream(), host.getOutputStream());
+            toClient.relay(host.getInputStream(), client.getOutputStream());
+        } catch (IOException e) {
+            logger.warn("Simulated link failed to connect a client", e);
+            connections.forEach(SimulatedLink::closeQuietly);
+        }
+    }
+
+    private void start(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, "mte-link-" + getPort() + "-" + name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.debug("Error closing simulated link", e);
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        while (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+            remaining = deadlineNanos - System.nanoTime();
+        }
+    }
+
+    /** Data read from one side, to be written to the other side no earlier than {@link #releaseNanos}. */
+    private static final class Packet {
+        final byte[] data;
+        final long releaseNanos;
+
+        Packet(byte[] data, long releaseNanos) {
+            this.data = data;
+            this.releaseNanos = releaseNanos;
+        }
+    }
+
+    private final class Direction {
+        final String name;
+        final BlockingQueue<Packet> queue = new LinkedBlockingQueue<>();
+        final AtomicLong deliveredBytes = new AtomicLong();
+        final AtomicLong queuedBytes = new AtomicLong();
+        final AtomicLong maxQueuedBytes = new AtomicLong();
+        long lastReleaseNanos;
+
+        Direction(String name) {
+            this.name = name;
+        }
+
+        void relay(InputStream in, OutputStream out) {
+            start(name + "-read", () -> read(in));
+            start(name + "-write", () -> write(out));
+        }
+
+        private void read(InputStream in) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                int count;
+                while ((count = in.read(buffer)) >= 0) {
+                    long delayNanos = TimeUnit.MILLISECONDS.toNanos(conditions.getLatencyMs());
+                    if (conditions.getJitterMs() > 0) {
+                        delayNanos += ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(conditions.getJitterMs()));
+                    }
+                    // Never release before earlier data; a TCP stream can't be reordered.
+                    lastReleaseNanos = Math.max(lastReleaseNanos, System.nanoTime() + delayNanos);
+                    long queued = queuedBytes.addAndGet(count);
+                    maxQueuedBytes.accumulateAndGet(queued, Math::max);
+                    queue.add(new Packet(Arrays.copyOf(buffer, count), lastReleaseNanos));
+                }
+            } catch (IOException e) {
+                logger.debug("Simulated link {} closed", name, e);
+            }
+        }
+
+        private void write(OutputStream out) {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Packet packet = queue.take();
+                    sleepUntil(packet.releaseNanos);
+                    out.write(packet.data);
+                    out.flush();
+                    queuedBytes.addAndGet(-packet.data.length);
+                    deliveredBytes.addAndGet(packet.data.length);
+                    if (conditions.getBytesPerSecond() > 0) {
+                        TimeUnit.NANOSECONDS.sleep(TimeUnit.SECONDS.toNanos(packet.data.length) / conditions.getBytesPerSecond());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.debug("Simulated link {} closed", name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.world.chunks.ChunkProvider;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the host for a long stretch of game time and records how it holds up.
+ * <p>
+ * The engines are run by the {@link MainLoop} as fast as they can tick. At every sample interval of game time, the
+ * runner writes a line to a CSV file with the time per loop iteration, the number of entities, the number of loaded
+ * chunks, the heap used after a garbage collection and the number of live threads.
+ * <pre><code>
+ * new SoakRunner(engines, mainLoop)
+ *         .setTimeScale(60)
+ *         .setActivity(() -&gt; bots.forEach(Bot::act))
+ *         .run(Duration.ofHours(8), Paths.get("build", "soak.csv"));
+ * </code></pre>
+ * Each sample interval is a separate {@link MainLoop#runWhile run}, so it must fit into the loop's safety timeout.
+ * At the time scale, a sample interval may take at most half the safety timeout in real time; {@link #run} rejects
+ * longer ones. Unless set, the sample interval is the longest one that fits.
+ */
+public class SoakRunner {
+    static final String CSV_HEADER =
+            "gameTimeMs,realTimeMs,iterations,msPerIteration,entities,loadedChunks,heapAfterGcBytes,threads";
+
+    private static final Logger logger = LoggerFactory.getLogger(SoakRunner.class);
+
+    private final Engines engines;
+    private final MainLoop mainLoop;
+    private long sampleIntervalMs;
+    private double timeScale = 10;
+    private Runnable activity = () -> { };
+
+    public SoakRunner(Engines engines, MainLoop mainLoop) {
+        this.engines = engines;
+        this.mainLoop = mainLoop;
+    }
+
+    /**
+     * @param sampleIntervalMs game time between two samples (default half the loop's safety timeout times the time
+     *                         scale)
+     */
+    public SoakRunner setSampleIntervalMs(long sampleIntervalMs) {
+        Preconditions.checkArgument(sampleIntervalMs > 0, "sample interval must be positive");
+        this.sampleIntervalMs = sampleIntervalMs;
+        return this;
+    }
+
+    /**
+     * Makes game time pass faster than real time.
+     * <p>
+     * After each iteration of the loop, the host's game time is advanced by the real time that passed multiplied by
+     * {@code timeScale - 1}. Scheduled actions that become due in between fire on the next tick.
+     *
+     * @param timeScale how many milliseconds of game time pass per millisecond of real time (default 10)
+     */
+    public SoakRunner setTimeScale(double timeScale) {
+        Preconditions.checkArgument(timeScale >= 1, "time scale must be at least 1");
+        this.timeScale = timeScale;
+        return this;
+    }
+
+    /**
+     * @param activity run before every iteration of the loop, e.g. to let bots act
+     */
+    public SoakRunner setActivity(Runnable activity) {
+        this.activity = activity;
+        return this;
+    }
+
+    /**
+     * Runs the engines for this much game time, writing a sample to the output file every sample interval.
+     *
+     * @param gameDuration how long to run, in game time
+     * @param output CSV file to write the samples to; it is written as the run progresses
+     */
+    public void run(Duration gameDuration, Path output) {
+        long maxSampleIntervalMs = (long) (mainLoop.getSafetyTimeoutMs() / 2 * timeScale);
+        long sampleIntervalMs = this.sampleIntervalMs > 0 ? this.sampleIntervalMs : maxSampleIntervalMs;
+        Preconditions.checkArgument(sampleIntervalMs <= maxSampleIntervalMs,
+                "sample interval of %s ms at time scale %s does not fit into half the safety timeout of %s ms; "
+                        + "use a shorter interval or a larger time scale",
+                sampleIntervalMs, timeScale, mainLoop.getSafetyTimeoutMs());
+        Context hostContext = engines.getHostContext();
+        Time time = hostContext.get(Time.class);
+        long endGameTime = time.getGameTimeInMs() + gameDuration.toMillis();
+        long startNanos = System.nanoTime();
+
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(output))) {
+                out.println(CSV_HEADER);
+                while (time.getGameTimeInMs() < endGameTime) {
+                    long[] iterations = {0};
+                    long[] lastNanos = {System.nanoTime()};
+                    long segmentStartNanos = lastNanos[0];
+                    long segmentEnd = Math.min(sampleIntervalMs, endGameTime - time.getGameTimeInMs());
+                    mainLoop.runWhile(segmentEnd, () -> {
+                        long now = System.nanoTime();
+                        if (timeScale > 1) {
+                            double extraMs = (timeScale - 1) * (now - lastNanos[0]) / TimeUnit.MILLISECONDS.toNanos(1);
+                            time.setGameTime(time.getGameTimeInMs() + (long) extraMs);
+                        }
+                        lastNanos[0] = now;
+                        activity.run();
+                        iterations[0]++;
+                        return true;
+                    });
+                    long segmentNanos = System.nanoTime() - segmentStartNanos;
+                    writeSample(out, hostContext, time, startNanos, iterations[0], segmentNanos);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Soak run of {} game time took {} s of real time; samples in {}", gameDuration,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos), output.toAbsolutePath());
+    }
+
+    /** Heap in use after asking for a full garbage collection. */
+    static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private void writeSample(PrintWriter out, Context hostContext, Time time, long startNanos, long iterations,
+                             long segmentNanos) {
+        int entities = Iterables.size(hostContext.get(EntityManager.class).getAllEntities());
+        ChunkProvider chunkProvider = hostContext.get(ChunkProvider.class);
+        int loadedChunks = chunkProvider != null ? chunkProvider.getAllChunks().size() : 0;
+        long heapAfterGc = usedHeapAfterGc();
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        double msPerIteration = iterations > 0 ? segmentNanos / (double) TimeUnit.MILLISECONDS.toNanos(1) / iterations : 0;
+
+        out.printf(Locale.ROOT, "%d,%d,%d,%.3f,%d,%d,%d,%d%n", time.getGameTimeInMs(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), iterations, msPerIteration,
+                entities, loadedChunks, heapAfterGc, threads);
+        out.flush();
+    }
+}
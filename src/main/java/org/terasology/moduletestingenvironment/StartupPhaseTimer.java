@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.modes.StateLoading;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Measures how long each phase of starting an engine takes.
+ * <p>
+ * Phases are measured back to back: beginning a phase ends the previous one. A phase that is entered more than once
+ * accumulates the time of every visit.
+ *
+ * @see Engines#getStartupPhaseTimes()
+ */
+class StartupPhaseTimer {
+    private static final Logger logger = LoggerFactory.getLogger(StartupPhaseTimer.class);
+
+    private static final Field CURRENT_LOAD_PROCESS = findCurrentLoadProcessField();
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private String currentPhase;
+    private long phaseStartNanos;
+
+    void begin(String phase) {
+        if (phase.equals(currentPhase)) {
+            return;
+        }
+        end();
+        currentPhase = phase;
+        phaseStartNanos = System.nanoTime();
+    }
+
+    void end() {
+        if (currentPhase != null) {
+            phases.merge(currentPhase, Duration.ofNanos(System.nanoTime() - phaseStartNanos), Duration::plus);
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * Begin a phase named after the load process {@code state} is working on, if it can be determined.
+     * <p>
+     * {@link StateLoading} does not expose its current process, so this peeks at its private field and falls back to
+     * timing the loading state as a whole.
+     */
+    void beginLoadProcess(StateLoading state) {
+        Optional<String> process = currentLoadProcess(state);
+        begin("loading" + process.map(name -> ": " + name).orElse(""));
+    }
+
+    /** Duration of each phase, in the order they were first entered. */
+    Map<String, Duration> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    String format() {
+        StringBuilder builder = new StringBuilder();
+        Duration total = phases.values().stream().reduce(Duration.ZERO, Duration::plus);
+        phases.forEach((phase, duration) ->
+                builder.append(String.format("%n  %8d ms  %s", duration.toMillis(), phase)));
+        builder.append(String.format("%n  %8d ms  total", total.toMillis()));
+        return builder.toString();
+    }
+
+    private static Optional<String> currentLoadProcess(StateLoading state) {
+        if (CURRENT_LOAD_PROCESS == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(CURRENT_LOAD_PROCESS.get(state)).map(process -> process.getClass().getSimpleName());
+        } catch (IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Field findCurrentLoadProcessField() {
+        try {
+            Field field = StateLoading.class.getDeclaredField("current");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            logger.debug("Cannot observe load processes of StateLoading, timing it as a single phase.", e);
+            return null;
+        }
+    }
+}
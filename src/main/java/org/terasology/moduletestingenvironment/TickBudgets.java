@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.moduletestingenvironment.extension.TickBudget;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Checks the {@link TickTimes} of a test against its {@link TickBudget}.
+ */
+final class TickBudgets {
+    private static final Logger logger = LoggerFactory.getLogger(TickBudgets.class);
+
+    private TickBudgets() { };
+
+    /**
+     * The budget for this test, if any. An annotation on the test method wins over one on the test class.
+     */
+    static Optional<TickBudget> getBudget(ExtensionContext context) {
+        Optional<TickBudget> budget = context.getTestMethod().map(method -> method.getAnnotation(TickBudget.class));
+        if (budget.isPresent()) {
+            return budget;
+        }
+        return Optional.ofNullable(Scopes.getTopTestClass(context).getAnnotation(TickBudget.class));
+    }
+
+    /**
+     * @throws AssertionFailedError if any limit of the budget is exceeded
+     */
+    static void check(TickBudget budget, TickTimes tickTimes, ExtensionContext context) {
+        String testName = Scopes.getTestName(context);
+        if (tickTimes.size() == 0) {
+            logger.warn("{} has a tick budget but did not run the host.", testName);
+            return;
+        }
+        double p50 = tickTimes.getPercentileMs(50);
+        double p99 = tickTimes.getPercentileMs(99);
+        double max = tickTimes.getMaxMs();
+        logger.info("Host tick times of {} over {} ticks:\n{}.p50Ms={}\n{}.p99Ms={}\n{}.maxMs={}",
+                testName, tickTimes.size(), testName, p50, testName, p99, testName, max);
+
+        List<String> failures = new ArrayList<>();
+        checkLimit(failures, "p50", p50, budget.p50Ms());
+        checkLimit(failures, "p99", p99, budget.p99Ms());
+        checkLimit(failures, "max", max, budget.maxMs());
+
+        if (!budget.baseline().isEmpty()) {
+            Properties baseline = loadBaseline(Scopes.getTopTestClass(context), budget.baseline());
+            double factor = 1 + budget.baselineTolerance();
+            checkBaseline(failures, baseline, testName, "p50", p50, factor);
+            checkBaseline(failures, baseline, testName, "p99", p99, factor);
+            checkBaseline(failures, baseline, testName, "max", max, factor);
+        }
+
+        if (!failures.isEmpty()) {
+            throw new AssertionFailedError(String.format("%s exceeded its tick budget over %d ticks: %s",
+                    testName, tickTimes.size(), String.join("; ", failures)));
+        }
+    }
+
+    private static void checkLimit(List<String> failures, String statistic, double measuredMs, double limitMs) {
+        if (measuredMs > limitMs) {
+            failures.add(String.format("%s was %.2f ms, budget is %.2f ms", statistic, measuredMs, limitMs));
+        }
+    }
+
+    private static void checkBaseline(List<String> failures, Properties baseline, String testName, String statistic,
+                                      double measuredMs, double factor) {
+        String value = baseline.getProperty(testName + "." + statistic + "Ms");
+        if (value != null) {
+            double baselineMs = Double.parseDouble(value);
+            if (measuredMs > baselineMs * factor) {
+                failures.add(String.format("%s was %.2f ms, baseline is %.2f ms", statistic, measuredMs, baselineMs));
+            }
+        }
+    }
+
+    private static Properties loadBaseline(Class<?> testClass, String resource) {
+        Properties properties = new Properties();
+        try (InputStream in = testClass.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Failed to find tick baseline " + resource);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading tick baseline " + resource, e);
+        }
+        return properties;
+    }
+}
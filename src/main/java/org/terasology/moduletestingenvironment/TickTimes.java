@@ -0,0 +1,50 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durations of the host's ticks during a test.
+ *
+ * @see org.terasology.moduletestingenvironment.extension.TickBudget
+ */
+class TickTimes {
+    private long[] nanos = new long[1024];
+    private int size;
+
+    void add(long durationNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = durationNanos;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param percentile between 0 (exclusive) and 100 (inclusive)
+     * @return the duration that this percentage of ticks did not exceed, in milliseconds
+     */
+    double getPercentileMs(double percentile) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, size - 1))]);
+    }
+
+    double getMaxMs() {
+        return getPercentileMs(100);
+    }
+
+    private static double toMillis(long durationNanos) {
+        return durationNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
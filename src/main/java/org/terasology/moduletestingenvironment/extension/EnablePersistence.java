@@ -0,0 +1,24 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment.extension;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the host write save games, so tests can save the game and restart the host from the save with
+ * {@link org.terasology.moduletestingenvironment.Engines#saveAndRestartHost()}.
+ * <p>
+ * Saves are written to the host's temporary home path. To keep them off the disk, create the home paths on a
+ * memory-backed file system with the {@value org.terasology.moduletestingenvironment.Engines#HOME_PATH_ROOT_PROPERTY}
+ * system property.
+ *
+ * @see org.terasology.moduletestingenvironment.MTEExtension
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnablePersistence {
+}
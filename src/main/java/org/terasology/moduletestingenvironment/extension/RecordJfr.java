@@ -0,0 +1,37 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment.extension;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records a {@index "Java Flight Recorder"} session while the test runs.
+ * <p>
+ * Each recording is dumped to {@code build/test-results/jfr} (override with the {@code mte.jfr.dir} system property)
+ * along with a short text summary of the top allocation sites and hot methods.
+ * <p>
+ * Recording can also be enabled for all tests without this annotation by setting the {@code mte.jfr} system property
+ * to one of the {@link Scope} names, e.g. {@code -Dmte.jfr=RUN}.
+ *
+ * @see org.terasology.moduletestingenvironment.MTEExtension
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RecordJfr {
+
+    /**
+     * What each recording covers.
+     */
+    Scope value() default Scope.TEST_METHOD;
+
+    enum Scope {
+        /** One recording around each test method. */
+        TEST_METHOD,
+        /** One recording around each {@code runWhile} (or {@code runUntil}) call. */
+        RUN
+    }
+}
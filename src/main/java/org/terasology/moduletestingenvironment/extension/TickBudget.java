@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment.extension;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test if the host's ticks take too long.
+ * <p>
+ * The duration of every host tick run by the {@link org.terasology.moduletestingenvironment.MainLoop MainLoop} during
+ * the test is measured. After the test, the measured percentiles are checked against the limits given here and, if
+ * a {@link #baseline()} is given, against the values stored in it.
+ * <p>
+ * Example:
+ * <pre><code>
+ * &#64;Test
+ * &#64;TickBudget(p99Ms = 20)
+ * public void growingCropsIsCheap(MainLoop mainLoop) { … }
+ * </code></pre>
+ *
+ * @see org.terasology.moduletestingenvironment.MTEExtension
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TickBudget {
+    double UNLIMITED = Double.POSITIVE_INFINITY;
+
+    /** Maximum median tick duration, in milliseconds. */
+    double p50Ms() default UNLIMITED;
+
+    /** Maximum 99th percentile tick duration, in milliseconds. */
+    double p99Ms() default UNLIMITED;
+
+    /** Maximum duration of any single tick, in milliseconds. */
+    double maxMs() default UNLIMITED;
+
+    /**
+     * Classpath resource with baseline tick durations, e.g. <code>"/tick-baseline.properties"</code>.
+     * <p>
+     * The file has entries like <code>MyTest.myMethod.p99Ms=12.5</code>. Every entry for the test is an additional
+     * limit, loosened by the {@link #baselineTolerance()}. The measured values of each test are logged in this format
+     * so they can be copied into the file.
+     */
+    String baseline() default "";
+
+    /** How much slower than the baseline the ticks may be, as a fraction of the baseline. */
+    double baselineTolerance() default 0.25;
+}
@@ -0,0 +1,42 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment.fixtures;
+
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how many entities with a {@link DummyComponent} exist whenever one of them is activated.
+ */
+@Share(ActivationCountingSystem.class)
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class ActivationCountingSystem extends BaseComponentSystem {
+    private final List<Integer> countsOnActivation = new ArrayList<>();
+
+    @In
+    private EntityManager entityManager;
+
+    @ReceiveEvent(components = DummyComponent.class)
+    public void onActivated(OnActivatedComponent event, EntityRef entity) {
+        countsOnActivation.add(entityManager.getCountOfEntitiesWith(DummyComponent.class));
+    }
+
+    /**
+     * @return the number of entities with a {@link DummyComponent} at each activation since the last call
+     */
+    public List<Integer> takeCountsOnActivation() {
+        List<Integer> counts = new ArrayList<>(countsOnActivation);
+        countsOnActivation.clear();
+        return counts;
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The samples measured by one of the benchmarks in {@link BenchmarkTest}, written as a JSON file.
+ */
+final class BenchmarkResult {
+    static final String DIRECTORY_PROPERTY = "mte.benchmark.dir";
+    static final Path DEFAULT_DIRECTORY = Paths.get("build", "test-results", "mte-benchmarks");
+
+    private final String name;
+    private final String unit;
+    private final List<Double> samples = new ArrayList<>();
+
+    BenchmarkResult(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    void add(double sample) {
+        samples.add(sample);
+    }
+
+    List<Double> getSamples() {
+        return Collections.unmodifiableList(samples);
+    }
+
+    /**
+     * Writes the samples and their mean, minimum and maximum to {@code <name>.json} in the benchmark directory.
+     *
+     * @return the written file
+     */
+    Path write() throws IOException {
+        Preconditions.checkState(!samples.isEmpty(), "%s has no samples", name);
+        Path directory = Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY.toString()));
+        Files.createDirectories(directory);
+        Path file = directory.resolve(name + ".json");
+        double mean = samples.stream().mapToDouble(Double::doubleValue).average().getAsDouble();
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.printf(Locale.ROOT, "{%n");
+            out.printf(Locale.ROOT, "  \"benchmark\": \"%s\",%n", name);
+            out.printf(Locale.ROOT, "  \"unit\": \"%s\",%n", unit);
+            out.printf(Locale.ROOT, "  \"mean\": %.3f,%n", mean);
+            out.printf(Locale.ROOT, "  \"min\": %.3f,%n", Collections.min(samples));
+            out.printf(Locale.ROOT, "  \"max\": %.3f,%n", Collections.max(samples));
+            out.printf(Locale.ROOT, "  \"samples\": [%s]%n", samples.stream()
+                    .map(sample -> String.format(Locale.ROOT, "%.3f", sample))
+                    .collect(Collectors.joining(", ")));
+            out.printf(Locale.ROOT, "}%n");
+        }
+        return file;
+    }
+}
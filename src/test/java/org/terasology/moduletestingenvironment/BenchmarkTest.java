@@ -0,0 +1,187 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.moduletestingenvironment.fixtures.DummyWorldGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+/**
+ * Measures what MTE itself costs to run, and writes each benchmark's samples to a JSON file; see
+ * {@link BenchmarkResult}.
+ * <p>
+ * Every benchmark takes {@value #DEFAULT_SAMPLES} samples unless the {@value #SAMPLES_PROPERTY} system property asks
+ * for more. Each benchmark starts its own engines, so none of them share state with another.
+ */
+@Tag("MteTest")
+@Tag("MteBenchmark")
+public class BenchmarkTest {
+    static final String SAMPLES_PROPERTY = "mte.benchmark.samples";
+    static final int DEFAULT_SAMPLES = 2;
+    static final int MAIN_LOOP_ITERATIONS = 100;
+    static final int INJECTIONS = 1000;
+    static final int REGION_RADIUS = 48;
+
+    private final int samples = Integer.getInteger(SAMPLES_PROPERTY, DEFAULT_SAMPLES);
+
+    /** Starting the host and shutting it down again. */
+    @Test
+    public void engineSetupAndTearDown() throws IOException {
+        BenchmarkResult result = new BenchmarkResult("engineSetupAndTearDown", "ms");
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            Engines engines = newEngines(null);
+            engines.setup();
+            engines.tearDown();
+            result.add(millisSince(start));
+        }
+        assertWritten(result);
+    }
+
+    /** Creating a client and waiting for it to join a fresh host, so clients don't accumulate. */
+    @Test
+    public void createClient() throws IOException {
+        BenchmarkResult result = new BenchmarkResult("createClient", "ms");
+        for (int i = 0; i < samples; i++) {
+            Engines engines = newEngines(null);
+            engines.setup();
+            try {
+                long start = System.nanoTime();
+                engines.createClient(engines.getMainLoop());
+                result.add(millisSince(start));
+            } finally {
+                engines.tearDown();
+            }
+        }
+        assertWritten(result);
+    }
+
+    /** Loading a region that has not been loaded before, with each of MTE's world generators. */
+    @Test
+    public void makeBlocksRelevant() throws IOException {
+        for (String worldGenerator : new String[] {
+                ModuleTestingEnvironment.DEFAULT_WORLD_GENERATOR, ModuleTestingEnvironment.EMPTY_WORLD_GENERATOR}) {
+            BenchmarkResult result = new BenchmarkResult("makeBlocksRelevant-" + worldGenerator.replace(':', '_'), "ms");
+            Engines engines = newEngines(worldGenerator);
+            engines.setup();
+            try {
+                MainLoop mainLoop = engines.getMainLoop();
+                for (int i = 0; i < samples; i++) {
+                    BlockRegion region = new BlockRegion(i * 10 * REGION_RADIUS, DummyWorldGenerator.SURFACE_HEIGHT, 0)
+                            .expand(REGION_RADIUS, REGION_RADIUS, REGION_RADIUS);
+                    long start = System.nanoTime();
+                    mainLoop.runUntil(mainLoop.makeBlocksRelevant(region));
+                    result.add(millisSince(start));
+                }
+            } finally {
+                engines.tearDown();
+            }
+            assertWritten(result);
+        }
+    }
+
+    /** One iteration of the main loop, which ticks the host and every client once. */
+    @Test
+    public void mainLoopIteration() throws IOException {
+        Engines engines = newEngines(null);
+        engines.setup();
+        try {
+            MainLoop mainLoop = engines.getMainLoop();
+            for (int clients = 0; clients <= 2; clients++) {
+                if (clients > 0) {
+                    engines.createClient(mainLoop);
+                }
+                BenchmarkResult result = new BenchmarkResult("mainLoopIteration-" + clients + "clients", "us");
+                for (int i = 0; i < samples; i++) {
+                    int[] remaining = {MAIN_LOOP_ITERATIONS};
+                    long start = System.nanoTime();
+                    mainLoop.runWhile(() -> remaining[0]-- > 0);
+                    result.add(microsSince(start) / MAIN_LOOP_ITERATIONS);
+                }
+                assertWritten(result);
+            }
+        } finally {
+            engines.tearDown();
+        }
+    }
+
+    /** {@link MTEExtension} injecting the fields of something like a typical test instance. */
+    @Test
+    public void injection() throws IOException {
+        Engines engines = newEngines(null);
+        engines.setup();
+        try {
+            MTEExtension extension = new MTEExtension() {
+                @Override
+                protected Engines getEngines(ExtensionContext context) {
+                    return engines;
+                }
+            };
+            ExtensionContext context = Mockito.mock(ExtensionContext.class);
+            BenchmarkResult result = new BenchmarkResult("injection", "us");
+            for (int i = 0; i < samples; i++) {
+                long start = System.nanoTime();
+                for (int j = 0; j < INJECTIONS; j++) {
+                    extension.postProcessTestInstance(new InjectedTest(), context);
+                }
+                result.add(microsSince(start) / INJECTIONS);
+            }
+            assertWritten(result);
+        } finally {
+            engines.tearDown();
+        }
+    }
+
+    private static Engines newEngines(String worldGenerator) {
+        return new Engines(Sets.newHashSet("ModuleTestingEnvironment"), worldGenerator);
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static double microsSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private void assertWritten(BenchmarkResult result) throws IOException {
+        assertThat(result.getSamples()).hasSize(samples);
+        Path file = result.write();
+        assertThat(Files.readAllLines(file).get(0)).isEqualTo("{");
+    }
+
+    /** Something like a typical test class. */
+    public static class InjectedTestBase {
+        @In
+        EntityManager entityManager;
+        @In
+        Engines engines;
+    }
+
+    public static class InjectedTest extends InjectedTestBase {
+        @In
+        WorldProvider worldProvider;
+        @In
+        BlockManager blockManager;
+        @In
+        MainLoop mainLoop;
+        @In
+        ModuleTestingHelper helper;
+    }
+}
@@ -0,0 +1,65 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public class BufferingAppenderTest {
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger(BufferingAppenderTest.class);
+    private final BufferingAppender appender = new BufferingAppender();
+
+    @BeforeEach
+    public void startAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setCapacity(2);
+        appender.start();
+    }
+
+    @Test
+    public void keepsOnlyTheNewestEvents() throws IOException {
+        appender.doAppend(event("first"));
+        appender.doAppend(event("second"));
+        appender.doAppend(event("third"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        appender.writeTo(out);
+        String written = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+        assertThat(appender.size()).isEqualTo(2);
+        assertThat(written).contains("1 earlier log events were dropped");
+        assertThat(written).doesNotContain("first");
+        assertThat(written).contains("second");
+        assertThat(written).contains("third");
+    }
+
+    @Test
+    public void clearEmptiesTheBuffer() {
+        appender.doAppend(event("first"));
+        appender.clear();
+        assertThat(appender.size()).isEqualTo(0);
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent(Logger.FQCN, logger, Level.INFO, message, null, null);
+    }
+}
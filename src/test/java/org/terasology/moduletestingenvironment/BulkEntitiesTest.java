@@ -0,0 +1,94 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabData;
+import org.terasology.engine.registry.In;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.assets.management.AssetManager;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.fixtures.ActivationCountingSystem;
+import org.terasology.moduletestingenvironment.fixtures.DummyComponent;
+import org.terasology.moduletestingenvironment.fixtures.DummyEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+@Dependencies({"engine", "ModuleTestingEnvironment"})
+public class BulkEntitiesTest {
+    private static final int COUNT = 100;
+
+    @In
+    private EntityManager entityManager;
+    @In
+    private AssetManager assetManager;
+    @In
+    private ActivationCountingSystem activationCountingSystem;
+
+    @BeforeEach
+    public void removeDummyEntities() {
+        // Entities created by earlier tests share the host, so start every test with none.
+        entityManager.getEntitiesWith(DummyComponent.class).forEach(EntityRef::destroy);
+        activationCountingSystem.takeCountsOnActivation();
+    }
+
+    @Test
+    public void bulkEntitiesGetTheirOwnComponents() {
+        DummyComponent template = new DummyComponent();
+        template.name = "template";
+
+        List<EntityRef> entities = BulkEntities.create(entityManager, COUNT, template);
+
+        Assertions.assertEquals(COUNT, entities.size());
+        DummyComponent first = entities.get(0).getComponent(DummyComponent.class);
+        DummyComponent last = entities.get(COUNT - 1).getComponent(DummyComponent.class);
+        Assertions.assertEquals("template", last.name);
+        Assertions.assertNotSame(first, last);
+        Assertions.assertNotSame(template, first);
+
+        entities.get(0).send(new DummyEvent());
+        Assertions.assertTrue(first.eventReceived);
+        Assertions.assertFalse(last.eventReceived);
+    }
+
+    @Test
+    public void wholeBatchExistsWhenActivated() {
+        BulkEntities.create(entityManager, COUNT, new DummyComponent());
+
+        assertEveryActivationSawTheWholeBatch();
+    }
+
+    @Test
+    public void prefabEntitiesAreCreatedAsOneBatch() {
+        DummyComponent component = new DummyComponent();
+        component.name = "from prefab";
+        PrefabData prefabData = new PrefabData();
+        prefabData.addComponent(component);
+        Prefab prefab = assetManager.loadAsset(new ResourceUrn("ModuleTestingEnvironment:bulkEntitiesTest"), prefabData, Prefab.class);
+
+        List<EntityRef> entities = BulkEntities.create(entityManager, COUNT, prefab);
+
+        Assertions.assertEquals(COUNT, entities.size());
+        Assertions.assertEquals(prefab, entities.get(0).getParentPrefab());
+        DummyComponent first = entities.get(0).getComponent(DummyComponent.class);
+        DummyComponent last = entities.get(COUNT - 1).getComponent(DummyComponent.class);
+        Assertions.assertEquals("from prefab", last.name);
+        Assertions.assertNotSame(first, last);
+        assertEveryActivationSawTheWholeBatch();
+    }
+
+    private void assertEveryActivationSawTheWholeBatch() {
+        List<Integer> counts = activationCountingSystem.takeCountsOnActivation();
+        Assertions.assertEquals(Collections.nCopies(COUNT, COUNT), counts);
+    }
+}
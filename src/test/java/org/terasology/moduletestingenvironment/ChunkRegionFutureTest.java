@@ -38,6 +38,12 @@ class ChunkRegionFutureTest {
 
         mainLoop.runUntil(chunkRegionFuture.getFuture());
 
+        assertThat(chunkRegionFuture.getTimeToFirstChunk().isPresent()).isTrue();
+        assertThat(chunkRegionFuture.getTimeToLastChunk().isPresent()).isTrue();
+        assertThat(chunkRegionFuture.getTimeToLastChunk().get())
+                .isAtLeast(chunkRegionFuture.getTimeToFirstChunk().get());
+        assertThat(chunkRegionFuture.getChunksPerSecond()).isGreaterThan(0.0);
+
         Vector3fc someplaceInside = center.add(
                  sizeInChunks.x() * Chunks.SIZE_X / 3f, 0, 0,
                 new Vector3f());
@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.GameEngine;
+import org.terasology.engine.core.TerasologyEngine;
+import org.terasology.engine.core.modes.StateIngame;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+
+import java.io.IOException;
+
+@Tag("MteTest")
+@ExtendWith(IsolatedMTEExtension.class)
+@Dependencies({"engine", "ModuleTestingEnvironment"})
+public class ClientTickIntervalTest {
+
+    @Test
+    public void tickIntervalMustBePositive(Engines engines, MainLoop mainLoop) throws IOException {
+        Context clientContext = engines.createClient(mainLoop);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> engines.setTickInterval(clientContext, 0));
+    }
+
+    @Test
+    public void clientTicksOncePerInterval(Engines engines, MainLoop mainLoop) throws IOException {
+        Context clientContext = engines.createClient(mainLoop);
+        TerasologyEngine client = (TerasologyEngine) clientContext.get(GameEngine.class);
+        engines.setTickInterval(client, 4);
+
+        long hostTicksBefore = mainLoop.getTickCount(engines.host);
+        long clientTicksBefore = mainLoop.getTickCount(client);
+        // Many short runs, like the steps of advanceGameTime, must still respect the interval.
+        for (int i = 0; i < 40; i++) {
+            boolean[] ran = {false};
+            mainLoop.runWhile(() -> {
+                boolean first = !ran[0];
+                ran[0] = true;
+                return first;
+            });
+        }
+
+        long hostTicks = mainLoop.getTickCount(engines.host) - hostTicksBefore;
+        long clientTicks = mainLoop.getTickCount(client) - clientTicksBefore;
+        Assertions.assertEquals(40, hostTicks);
+        Assertions.assertEquals(10, clientTicks);
+        Assertions.assertEquals(StateIngame.class, client.getState().getClass());
+    }
+}
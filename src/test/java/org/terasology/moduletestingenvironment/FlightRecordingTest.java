@@ -0,0 +1,59 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.core.Time;
+import org.terasology.moduletestingenvironment.extension.RecordJfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+public class FlightRecordingTest {
+
+    @Test
+    @RecordJfr(RecordJfr.Scope.RUN)
+    public void eachRunIsRecorded(MainLoop mainLoop, Time time) throws IOException {
+        Path directory = recordingDirectory();
+        String name = "FlightRecordingTest.eachRunIsRecorded-run1";
+        // Left over from an earlier build, they would pass the test without a recording by this one.
+        Files.deleteIfExists(directory.resolve(name + ".jfr"));
+        Files.deleteIfExists(directory.resolve(name + "-summary.txt"));
+
+        long stop = time.getGameTimeInMs() + 500;
+        mainLoop.runWhile(() -> time.getGameTimeInMs() < stop);
+
+        assertTrue(Files.isRegularFile(directory.resolve(name + ".jfr")));
+        assertTrue(Files.isRegularFile(directory.resolve(name + "-summary.txt")));
+    }
+
+    @Test
+    @RecordJfr(RecordJfr.Scope.RUN)
+    public void advancingGameTimeIsOneRun(MainLoop mainLoop) throws IOException {
+        Path directory = recordingDirectory();
+        String name = "FlightRecordingTest.advancingGameTimeIsOneRun-run";
+        // Left over from an earlier build, they would hide a missing or a second recording by this one.
+        Files.deleteIfExists(directory.resolve(name + "1.jfr"));
+        Files.deleteIfExists(directory.resolve(name + "2.jfr"));
+
+        mainLoop.advanceGameTime(1000, 100);
+
+        assertTrue(Files.isRegularFile(directory.resolve(name + "1.jfr")));
+        assertFalse(Files.exists(directory.resolve(name + "2.jfr")));
+    }
+
+    private static Path recordingDirectory() {
+        return Paths.get(System.getProperty(FlightRecordings.DIRECTORY_PROPERTY,
+                FlightRecordings.DEFAULT_DIRECTORY.toString()));
+    }
+}
@@ -0,0 +1,58 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+import org.terasology.moduletestingenvironment.extension.RecordJfr;
+
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FlightRecordingsTest {
+    private String previousScope;
+
+    @BeforeEach
+    public void rememberScope() {
+        previousScope = System.getProperty(FlightRecordings.SCOPE_PROPERTY);
+    }
+
+    @AfterEach
+    public void restoreScope() {
+        if (previousScope == null) {
+            System.clearProperty(FlightRecordings.SCOPE_PROPERTY);
+        } else {
+            System.setProperty(FlightRecordings.SCOPE_PROPERTY, previousScope);
+        }
+    }
+
+    @Test
+    public void scopeIgnoresCase() {
+        System.setProperty(FlightRecordings.SCOPE_PROPERTY, "Run");
+        assertThat(FlightRecordings.getScope(mockContext())).hasValue(RecordJfr.Scope.RUN);
+    }
+
+    @Test
+    public void unknownScopeListsTheValidOnes() {
+        System.setProperty(FlightRecordings.SCOPE_PROPERTY, "everything");
+        ExtensionContext context = mockContext();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> FlightRecordings.getScope(context));
+        assertThat(e).hasMessageThat().contains("everything");
+        for (RecordJfr.Scope scope : RecordJfr.Scope.values()) {
+            assertThat(e).hasMessageThat().contains(scope.name());
+        }
+    }
+
+    private static ExtensionContext mockContext() {
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        Mockito.doReturn(FlightRecordingsTest.class).when(context).getRequiredTestClass();
+        Mockito.doReturn(Optional.empty()).when(context).getTestMethod();
+        return context;
+    }
+}
@@ -0,0 +1,43 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LogCaptureTest {
+    private String previousMode;
+
+    @BeforeEach
+    public void rememberMode() {
+        previousMode = System.getProperty(LogCapture.MODE_PROPERTY);
+    }
+
+    @AfterEach
+    public void restoreMode() {
+        if (previousMode == null) {
+            System.clearProperty(LogCapture.MODE_PROPERTY);
+        } else {
+            System.setProperty(LogCapture.MODE_PROPERTY, previousMode);
+        }
+    }
+
+    @Test
+    public void modeIgnoresCase() {
+        System.setProperty(LogCapture.MODE_PROPERTY, "Async");
+        assertThat(LogCapture.getMode()).isEqualTo(LogCapture.Mode.ASYNC);
+    }
+
+    @Test
+    public void unknownModeListsTheValidOnes() {
+        System.setProperty(LogCapture.MODE_PROPERTY, "quiet");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, LogCapture::getMode);
+        assertThat(e).hasMessageThat().contains("quiet");
+        assertThat(e).hasMessageThat().contains("[CONSOLE, BUFFER, ASYNC]");
+    }
+}
@@ -10,6 +10,7 @@ import com.google.common.util.concurrent.UncheckedTimeoutException;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.core.modes.StateIngame;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -36,4 +37,10 @@ public class ModuleTestingEnvironmentTest {
         ListenableFuture<Integer> valueFuture = Futures.immediateFuture(THE_ANSWER);
         assertThat(mainLoop.runUntil(valueFuture)).isEqualTo(THE_ANSWER);
     }
+
+    @Test
+    public void startupPhasesAreTimed(Engines engines) {
+        assertThat(engines.getStartupPhaseTimes()).containsKey("engine initialization");
+        assertThat(engines.getStartupPhaseTimes()).containsKey(StateIngame.class.getSimpleName());
+    }
 }
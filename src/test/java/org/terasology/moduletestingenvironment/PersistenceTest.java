@@ -0,0 +1,41 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.entitySystem.entity.EntityManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+import org.terasology.moduletestingenvironment.extension.EnablePersistence;
+import org.terasology.moduletestingenvironment.fixtures.DummyComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@Tag("MteTest")
+@ExtendWith(IsolatedMTEExtension.class)
+@Dependencies({"engine", "ModuleTestingEnvironment"})
+@EnablePersistence
+public class PersistenceTest {
+
+    @Test
+    public void entitiesSurviveRestart(Engines engines) throws IOException {
+        DummyComponent component = new DummyComponent();
+        component.name = "persisted";
+        engines.getHostContext().get(EntityManager.class).create(component);
+
+        PersistenceTimings timings = engines.saveAndRestartHost();
+        assertThat(timings.getReload().isNegative()).isFalse();
+
+        EntityManager entityManager = engines.getHostContext().get(EntityManager.class);
+        List<EntityRef> entities = Lists.newArrayList(entityManager.getEntitiesWith(DummyComponent.class));
+        assertThat(entities).hasSize(1);
+        assertThat(entities.get(0).getComponent(DummyComponent.class).name).isEqualTo("persisted");
+    }
+}
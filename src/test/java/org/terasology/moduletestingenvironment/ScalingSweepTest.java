@@ -0,0 +1,38 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+public class ScalingSweepTest {
+
+    @Test
+    public void writesOneLinePerPoint(Engines engines, MainLoop mainLoop, @TempDir Path tempDir) throws IOException {
+        Path output = tempDir.resolve("scaling.csv");
+
+        new ScalingSweep(engines, mainLoop)
+                .setClientCounts(0, 1)
+                .setRegionSizes(1, 2)
+                .setMeasureGameTimeMs(500)
+                .run(output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines.get(0)).isEqualTo(ScalingSweep.CSV_HEADER);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(4)).startsWith("1,2,");
+        assertThat(engines.getEngines()).hasSize(2);
+    }
+}
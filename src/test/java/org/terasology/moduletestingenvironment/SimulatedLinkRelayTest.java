@@ -0,0 +1,91 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Relays through a {@link SimulatedLink} to a plain server socket standing in for the host.
+ */
+public class SimulatedLinkRelayTest {
+    private static final int TIMEOUT_MS = 5000;
+    private static final long LATENCY_MS = 200;
+
+    private ServerSocket host;
+
+    @BeforeEach
+    public void startHost() throws IOException {
+        host = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        host.setSoTimeout(TIMEOUT_MS);
+    }
+
+    @AfterEach
+    public void stopHost() throws IOException {
+        host.close();
+    }
+
+    @Test
+    public void dataIsHeldBackForTheLatency() throws IOException {
+        long perfectMs = measureRoundTrip(NetworkConditions.perfect());
+        long delayedMs = measureRoundTrip(NetworkConditions.perfect().withLatencyMs(LATENCY_MS));
+
+        // There and back again, each way held back for the latency.
+        assertThat(delayedMs).isAtLeast(2 * LATENCY_MS);
+        assertThat(delayedMs - perfectMs).isAtLeast(LATENCY_MS);
+    }
+
+    @Test
+    public void onlyOneConnectionIsRelayed() throws IOException {
+        try (SimulatedLink link = new SimulatedLink(NetworkConditions.perfect(), host.getLocalPort());
+             Socket first = new Socket(link.getAddress(), link.getPort());
+             Socket relayed = host.accept()) {
+            assertThat(relayed.isConnected()).isTrue();
+
+            host.setSoTimeout(500);
+            try (Socket second = connectQuietly(link)) {
+                assertThrows(SocketTimeoutException.class, () -> host.accept().close());
+            }
+        }
+    }
+
+    /** Sends a byte to the host and back, and returns how many milliseconds that took. */
+    private long measureRoundTrip(NetworkConditions conditions) throws IOException {
+        try (SimulatedLink link = new SimulatedLink(conditions, host.getLocalPort());
+             Socket client = new Socket(link.getAddress(), link.getPort());
+             Socket relayed = host.accept()) {
+            client.setSoTimeout(TIMEOUT_MS);
+            relayed.setSoTimeout(TIMEOUT_MS);
+
+            long start = System.nanoTime();
+            client.getOutputStream().write(42);
+            client.getOutputStream().flush();
+            assertThat(relayed.getInputStream().read()).isEqualTo(42);
+            relayed.getOutputStream().write(43);
+            relayed.getOutputStream().flush();
+            assertThat(client.getInputStream().read()).isEqualTo(43);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    /** A second connection is refused, or accepted by the operating system and then dropped. */
+    private static Socket connectQuietly(SimulatedLink link) {
+        try {
+            return new Socket(link.getAddress(), link.getPort());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.GameEngine;
+import org.terasology.engine.core.modes.StateIngame;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+
+import java.io.IOException;
+
+@Tag("MteTest")
+@ExtendWith(IsolatedMTEExtension.class)
+@Dependencies({"engine", "ModuleTestingEnvironment"})
+public class SimulatedLinkTest {
+
+    @Test
+    public void testClientWithSimulatedLink(Engines engines, MainLoop mainLoop) throws IOException {
+        NetworkConditions conditions = NetworkConditions.perfect().withLatencyMs(50).withJitterMs(10);
+        Context clientContext = engines.createClient(mainLoop, conditions);
+
+        SimulatedLink link = engines.getSimulatedLink(clientContext);
+        Assertions.assertNotNull(link);
+        Assertions.assertTrue(link.getBytesToHost() > 0);
+        Assertions.assertTrue(link.getBytesToClient() > 0);
+        Assertions.assertEquals(StateIngame.class, clientContext.get(GameEngine.class).getState().getClass());
+    }
+}
@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.terasology.engine.core.Time;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+public class SoakRunnerTest {
+
+    @Test
+    public void writesOneSamplePerInterval(Engines engines, MainLoop mainLoop, Time time, @TempDir Path tempDir)
+            throws IOException {
+        Path output = tempDir.resolve("soak.csv");
+        long start = time.getGameTimeInMs();
+
+        new SoakRunner(engines, mainLoop)
+                .setSampleIntervalMs(1000)
+                .setTimeScale(4)
+                .run(Duration.ofSeconds(3), output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertThat(lines.get(0)).isEqualTo(SoakRunner.CSV_HEADER);
+        assertThat(lines.size()).isAtLeast(2);
+        assertThat(time.getGameTimeInMs() - start).isAtLeast(3000L);
+    }
+
+    @Test
+    public void rejectsIntervalsThatDoNotFitIntoTheSafetyTimeout(Engines engines, MainLoop mainLoop, @TempDir Path tempDir) {
+        SoakRunner runner = new SoakRunner(engines, mainLoop)
+                .setSampleIntervalMs(mainLoop.getSafetyTimeoutMs())
+                .setTimeScale(1);
+        Path output = tempDir.resolve("soak.csv");
+
+        assertThrows(IllegalArgumentException.class, () -> runner.run(Duration.ofMinutes(1), output));
+        assertThat(Files.exists(output)).isFalse();
+    }
+}
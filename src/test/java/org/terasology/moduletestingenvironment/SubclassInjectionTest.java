@@ -20,4 +20,10 @@ public class SubclassInjectionTest extends BaseTestingClass {
         Assertions.assertNotNull(getEntityManager());
         Assertions.assertNotNull(getHelper());
     }
+
+    @Test
+    public void helpersAreSharedPerEngines(MainLoop mainLoop, ModuleTestingHelper helper) {
+        Assertions.assertSame(getHelper(), helper);
+        Assertions.assertSame(helper.mainLoop, mainLoop);
+    }
 }
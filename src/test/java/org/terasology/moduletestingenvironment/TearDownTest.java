@@ -0,0 +1,52 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.GameEngine;
+import org.terasology.engine.core.PathManager;
+import org.terasology.engine.core.TerasologyEngine;
+import org.terasology.engine.core.modes.StateIngame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Tag("MteTest")
+public class TearDownTest {
+
+    @Test
+    public void tearsDownHostAndClients() throws IOException, InterruptedException {
+        PathManager originalPathManager = PathManager.getInstance();
+        Engines engines = new Engines(Sets.newHashSet("ModuleTestingEnvironment"), null);
+        engines.setup();
+        Path hostHomePath = engines.hostHomePath;
+        try {
+            MainLoop mainLoop = engines.getMainLoop();
+            List<TerasologyEngine> clients = Lists.newArrayList();
+            for (int i = 0; i < 3; i++) {
+                Context clientContext = engines.createClient(mainLoop);
+                clients.add((TerasologyEngine) clientContext.get(GameEngine.class));
+            }
+            Assertions.assertEquals(4, engines.getEngines().size());
+            for (TerasologyEngine client : clients) {
+                Assertions.assertEquals(StateIngame.class, client.getState().getClass());
+            }
+        } finally {
+            engines.tearDown();
+        }
+
+        Assertions.assertTrue(engines.getEngines().isEmpty());
+        Assertions.assertNull(engines.getHostContext());
+        Assertions.assertSame(originalPathManager, PathManager.getInstance());
+        Assertions.assertTrue(Engines.awaitHomePathDeletion(Duration.ofSeconds(30)));
+        Assertions.assertFalse(Files.exists(hostHomePath));
+    }
+}
@@ -0,0 +1,36 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.GameEngine;
+import org.terasology.engine.core.TerasologyEngine;
+import org.terasology.engine.core.Time;
+import org.terasology.engine.core.modes.StateIngame;
+import org.terasology.engine.world.chunks.ChunkProvider;
+import org.terasology.moduletestingenvironment.extension.Dependencies;
+
+import java.io.IOException;
+
+@Tag("MteTest")
+@ExtendWith(IsolatedMTEExtension.class)
+@Dependencies({"engine", "ModuleTestingEnvironment"})
+public class ThinClientTest {
+
+    @Test
+    public void testThinClientKeepsNoChunks(Engines engines, MainLoop mainLoop) throws IOException {
+        Context clientContext = engines.createThinClient(mainLoop);
+        Assertions.assertTrue(engines.isThinClient((TerasologyEngine) clientContext.get(GameEngine.class)));
+
+        Time clientTime = clientContext.get(Time.class);
+        long stop = clientTime.getGameTimeInMs() + 500;
+        mainLoop.runWhile(() -> clientTime.getGameTimeInMs() < stop);
+
+        Assertions.assertEquals(StateIngame.class, clientContext.get(GameEngine.class).getState().getClass());
+        Assertions.assertTrue(clientContext.get(ChunkProvider.class).getAllChunks().isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+import org.opentest4j.AssertionFailedError;
+import org.terasology.engine.core.Time;
+import org.terasology.moduletestingenvironment.extension.TickBudget;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Tag("MteTest")
+@ExtendWith(MTEExtension.class)
+public class TickBudgetTest {
+
+    @Test
+    @TickBudget(maxMs = 10000)
+    public void ticksWithinBudgetPass(Engines engines, MainLoop mainLoop, Time time) {
+        long stop = time.getGameTimeInMs() + 500;
+        mainLoop.runWhile(() -> time.getGameTimeInMs() < stop);
+        assertThat(engines.hostTickTimes.size()).isGreaterThan(0);
+    }
+
+    @Test
+    public void exceededBudgetFails() throws NoSuchMethodException {
+        ExtensionContext context = contextFor("tightBudget");
+        TickBudget budget = TickBudgets.getBudget(context).get();
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> TickBudgets.check(budget, ticksOf(0.5, 0.5, 7), context));
+        assertThat(error).hasMessageThat().contains("TickBudgetTest.tightBudget");
+        assertThat(error).hasMessageThat().contains("max was");
+        assertThat(error).hasMessageThat().doesNotContain("p50 was");
+    }
+
+    @Test
+    public void budgetIsMetWhenAllTicksAreFast() throws NoSuchMethodException {
+        ExtensionContext context = contextFor("tightBudget");
+        TickBudgets.check(TickBudgets.getBudget(context).get(), ticksOf(0.5, 0.5, 0.9), context);
+    }
+
+    @Test
+    public void slowerThanBaselineFails() throws NoSuchMethodException {
+        ExtensionContext context = contextFor("baselined");
+        TickBudget budget = TickBudgets.getBudget(context).get();
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> TickBudgets.check(budget, ticksOf(3, 3, 3), context));
+        assertThat(error).hasMessageThat().contains("p50 was");
+        assertThat(error).hasMessageThat().contains("baseline is");
+
+        // Within the baseline's tolerance of 25%.
+        TickBudgets.check(budget, ticksOf(2.4, 2.4, 2.4), context);
+    }
+
+    @Test
+    public void percentilesOfTickTimes() {
+        TickTimes tickTimes = new TickTimes();
+        for (int i = 1; i <= 100; i++) {
+            tickTimes.add(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(tickTimes.size()).isEqualTo(100);
+        assertThat(tickTimes.getPercentileMs(50)).isEqualTo(50.0);
+        assertThat(tickTimes.getPercentileMs(99)).isEqualTo(99.0);
+        assertThat(tickTimes.getMaxMs()).isEqualTo(100.0);
+    }
+
+    @TickBudget(maxMs = 1)
+    void tightBudget() {
+    }
+
+    @TickBudget(baseline = "/tick-baseline-test.properties")
+    void baselined() {
+    }
+
+    private static ExtensionContext contextFor(String methodName) throws NoSuchMethodException {
+        ExtensionContext context = Mockito.mock(ExtensionContext.class);
+        Mockito.doReturn(TickBudgetTest.class).when(context).getRequiredTestClass();
+        Mockito.doReturn(Optional.of(TickBudgetTest.class.getDeclaredMethod(methodName))).when(context).getTestMethod();
+        return context;
+    }
+
+    private static TickTimes ticksOf(double... durationsMs) {
+        TickTimes tickTimes = new TickTimes();
+        for (double durationMs : durationsMs) {
+            tickTimes.add((long) (durationMs * TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+        return tickTimes;
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.moduletestingenvironment;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.TimeUnit;
+
+@Tag("MteTest")
+@ExtendWith(IsolatedMTEExtension.class)
+public class TickPeriodTest {
+    private static final int ITERATIONS = 10;
+    private static final long PERIOD_MS = 20;
+
+    @Test
+    public void iterationsAreSpreadOverThePeriod(MainLoop mainLoop) {
+        mainLoop.setTickPeriodMs(PERIOD_MS);
+        int[] iterations = {0};
+
+        long start = System.nanoTime();
+        mainLoop.runWhile(() -> iterations[0]++ < ITERATIONS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assertions.assertTrue(elapsedMs >= ITERATIONS * PERIOD_MS,
+                String.format("%d iterations took %d ms, expected at least %d ms", ITERATIONS, elapsedMs, ITERATIONS * PERIOD_MS));
+    }
+
+    @Test
+    public void negativePeriodIsRejected(MainLoop mainLoop) {
+        long before = mainLoop.getTickPeriodMs();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mainLoop.setTickPeriodMs(-1));
+        Assertions.assertEquals(before, mainLoop.getTickPeriodMs());
+    }
+}
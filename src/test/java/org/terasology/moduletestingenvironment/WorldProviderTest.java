@@ -3,13 +3,17 @@
 package org.terasology.moduletestingenvironment;
 
 import org.joml.Vector3i;
+import org.joml.Vector3ic;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.moduletestingenvironment.extension.Dependencies;
 
 @Tag("MteTest")
@@ -36,4 +40,22 @@ public class WorldProviderTest {
         worldProvider.setBlock(new Vector3i(), blockManager.getBlock("engine:unloaded"));
         Assertions.assertEquals("engine:unloaded", worldProvider.getBlock(0, 0, 0).getURI().toString());
     }
+
+    @Test
+    public void fillSetsEveryBlockOfTheRegion() {
+        Block unloaded = blockManager.getBlock("engine:unloaded");
+        BlockRegion region = new BlockRegion(100, 0, 100).expand(2, 2, 2);
+
+        PlacedBlocks placed = mainLoop.runUntil(mainLoop.fill(region, unloaded));
+
+        Assertions.assertEquals(region.volume(), placed.getReplacedBlocks().size());
+        for (Vector3ic pos : region) {
+            Assertions.assertEquals(unloaded, worldProvider.getBlock(pos));
+        }
+
+        // Other tests of this class share the host, so don't keep the area loaded for them.
+        EntityRef regionEntity = placed.getRegion().get().getEntity();
+        placed.release();
+        Assertions.assertFalse(regionEntity.exists());
+    }
 }
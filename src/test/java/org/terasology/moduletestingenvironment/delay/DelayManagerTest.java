@@ -15,7 +15,10 @@ import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.logic.delay.DelayManager;
 import org.terasology.engine.logic.delay.DelayedActionTriggeredEvent;
+import org.terasology.engine.logic.delay.PeriodicActionTriggeredEvent;
+import org.terasology.moduletestingenvironment.Engines;
 import org.terasology.moduletestingenvironment.MTEExtension;
+import org.terasology.moduletestingenvironment.MainLoop;
 import org.terasology.moduletestingenvironment.ModuleTestingHelper;
 import org.terasology.moduletestingenvironment.TestEventReceiver;
 import org.terasology.moduletestingenvironment.extension.Dependencies;
@@ -56,4 +59,25 @@ public class DelayManagerTest {
         helper.runWhile(() -> time.getGameTimeInMs() < stop);
         Assertions.assertFalse(eventReceiver.getEvents().isEmpty());
     }
+
+    @Test
+    public void advancingGameTimeTriggersScheduledActions(MainLoop mainLoop, Engines engines) {
+        final TestEventReceiver<DelayedActionTriggeredEvent> delayedReceiver =
+                new TestEventReceiver<>(engines.getHostContext(), DelayedActionTriggeredEvent.class);
+        final TestEventReceiver<PeriodicActionTriggeredEvent> periodicReceiver =
+                new TestEventReceiver<>(engines.getHostContext(), PeriodicActionTriggeredEvent.class);
+
+        EntityRef entity = entityManager.create();
+        delayManager.addDelayedAction(entity, "ModuleTestingEnvironment:advanceDelayed", 60_000);
+        delayManager.addPeriodicAction(entity, "ModuleTestingEnvironment:advancePeriodic", 200, 200);
+        long start = time.getGameTimeInMs();
+
+        mainLoop.advanceGameTime(1000, 100);
+        Assertions.assertTrue(delayedReceiver.getEvents().isEmpty());
+        Assertions.assertTrue(periodicReceiver.getEvents().size() >= 4);
+
+        mainLoop.advanceGameTime(60_000);
+        Assertions.assertFalse(delayedReceiver.getEvents().isEmpty());
+        Assertions.assertTrue(time.getGameTimeInMs() - start >= 61_000);
+    }
 }